@@ -0,0 +1,92 @@
+package com.github.hexocraftapi.command.benchmark;
+
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.type.*;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of valid and invalid values by every built-in {@link ArgType}.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArgTypeBenchmark
+{
+	@Param({"integer", "long", "float", "double", "pitch", "volume", "boolean", "string", "stringList",
+			"biome", "sound", "material", "materialList", "player", "world"})
+	public String type;
+
+	@Param({"valid", "invalid"})
+	public String input;
+
+	private ArgType<?> argType;
+	private String value;
+
+	@Setup
+	public void setup()
+	{
+		Stubs.server();
+
+		String valid;
+		String invalid;
+		switch(type)
+		{
+			case "integer":      argType = ArgTypeInteger.get();      valid = "12345";                  invalid = "12a45"; break;
+			case "long":         argType = ArgTypeLong.get();         valid = "1234567890123";          invalid = "abc"; break;
+			case "float":        argType = ArgTypeFloat.get();        valid = "3.1415";                 invalid = "3.14.15"; break;
+			case "double":       argType = ArgTypeDouble.get();       valid = "-2.5e3";                 invalid = "e3"; break;
+			case "pitch":        argType = ArgTypeSoundPitch.get();   valid = "1.5";                    invalid = "2.5"; break;
+			case "volume":       argType = ArgTypeSoundVolume.get();  valid = "0.8";                    invalid = "loud"; break;
+			case "boolean":      argType = ArgTypeBoolean.get();      valid = "yes";                    invalid = "maybe"; break;
+			case "string":       argType = ArgTypeString.get();       valid = "hello";                  invalid = "hello"; break;
+			case "stringList":   argType = ArgTypeStringList.get();   valid = "one two three four";     invalid = "one two three four"; break;
+			case "biome":        argType = ArgTypeBiome.get();        valid = "plains";                 invalid = "moon"; break;
+			case "sound":        argType = ArgTypeSound.get();        valid = "BLOCK_ANVIL_LAND";       invalid = "BLOCK_ANVIL_LANDS"; break;
+			case "material":     argType = ArgTypeMaterial.get();     valid = "LEGACY_WOOL:14";         invalid = "WOOLS:14"; break;
+			case "materialList": argType = ArgTypeMaterialList.get(); valid = "LEGACY_WOOL:1,LEGACY_STONE,LEGACY_DIRT:2"; invalid = "LEGACY_WOOL:1,ROCK,LEGACY_DIRT"; break;
+			case "player":       argType = ArgTypePlayer.get();       valid = "Player" + (Stubs.PLAYERS - 1); invalid = "Nobody"; break;
+			case "world":        argType = ArgTypeWorld.get();        valid = "world_" + (Stubs.WORLDS - 1);  invalid = "nether"; break;
+			default: throw new IllegalArgumentException(type);
+		}
+		value = input.equals("valid") ? valid : invalid;
+	}
+
+	@Benchmark
+	public Object get()
+	{
+		return argType.get(value);
+	}
+}
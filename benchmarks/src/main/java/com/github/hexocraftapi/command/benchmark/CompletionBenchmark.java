@@ -0,0 +1,89 @@
+package com.github.hexocraftapi.command.benchmark;
+
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.Command;
+import com.github.hexocraftapi.command.CommandInfo;
+import com.github.hexocraftapi.command.type.ArgTypeMaterial;
+import com.github.hexocraftapi.command.type.ArgTypePlayer;
+import com.github.hexocraftapi.command.type.ArgTypeSound;
+import com.github.hexocraftapi.command.type.ArgTypeWorld;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tab completion of Material, Sound, player and world names for a typed prefix.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompletionBenchmark
+{
+	@Param({"", "S", "STO", "BLOCK_", "ENTITY_PLAYER_", "LEGACY_WOOD", "Player1", "world_1", "ZZZ"})
+	public String prefix;
+
+	private CommandInfo commandInfo;
+
+	@Setup
+	public void setup()
+	{
+		Command<?> command = Trees.wide(1);
+		commandInfo = new CommandInfo(Stubs.sender(), command, "bench", new String[] { prefix }, null);
+	}
+
+	@Benchmark
+	public List<String> material()
+	{
+		return ArgTypeMaterial.get().tabComplete(commandInfo);
+	}
+
+	@Benchmark
+	public List<String> sound()
+	{
+		return ArgTypeSound.get().tabComplete(commandInfo);
+	}
+
+	@Benchmark
+	public List<String> player()
+	{
+		return ArgTypePlayer.get().tabComplete(commandInfo);
+	}
+
+	@Benchmark
+	public List<String> world()
+	{
+		return ArgTypeWorld.get().tabComplete(commandInfo);
+	}
+}
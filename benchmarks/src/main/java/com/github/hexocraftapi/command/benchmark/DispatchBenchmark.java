@@ -0,0 +1,102 @@
+package com.github.hexocraftapi.command.benchmark;
+
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.Command;
+import org.bukkit.command.CommandSender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routing of {@link Command#execute} and {@link Command#tabComplete} through wide and deep command trees.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark
+{
+	@Param({"10", "60", "500"})
+	public int width;
+
+	@Param({"2", "8"})
+	public int depth;
+
+	private CommandSender sender;
+	private Command<?> wide;
+	private Command<?> deep;
+	private String[] wideArgs;
+	private String[] wideCompleteArgs;
+	private String[] deepArgs;
+	private String[] deepCompleteArgs;
+
+	@Setup
+	public void setup()
+	{
+		sender = Stubs.sender();
+		wide = Trees.wide(width);
+		deep = Trees.deep(depth);
+
+		// Last sub command, through one of its aliases
+		wideArgs = new String[] { "ALIAS" + (width - 1), "name", "5" };
+		wideCompleteArgs = new String[] { "s" };
+		deepArgs = Trees.deepArgs(depth);
+		deepCompleteArgs = deepArgs.clone();
+		deepCompleteArgs[depth] = "";
+	}
+
+	@Benchmark
+	public boolean executeWide()
+	{
+		return wide.execute(sender, "bench", wideArgs);
+	}
+
+	@Benchmark
+	public boolean executeDeep()
+	{
+		return deep.execute(sender, "bench", deepArgs);
+	}
+
+	@Benchmark
+	public List<String> tabCompleteWide()
+	{
+		return wide.tabComplete(sender, "bench", wideCompleteArgs);
+	}
+
+	@Benchmark
+	public List<String> tabCompleteDeep()
+	{
+		return deep.tabComplete(sender, "bench", deepCompleteArgs);
+	}
+}
@@ -0,0 +1,79 @@
+package com.github.hexocraftapi.command.benchmark;
+
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.Command;
+import com.github.hexocraftapi.command.predifined.CommandHelp;
+import org.bukkit.command.CommandSender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering of the help of large command trees by {@link CommandHelp}.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HelpBenchmark
+{
+	@Param({"60", "500"})
+	public int width;
+
+	private CommandSender sender;
+	private Command<?> tree;
+	private CommandHelp<?> help;
+	private String[] args;
+
+	@Setup
+	public void setup()
+	{
+		sender = Stubs.sender();
+		tree = Trees.wide(width);
+		help = (CommandHelp<?>) tree.getSubCommand("help");
+		args = new String[] { "help", "2" };
+	}
+
+	@Benchmark
+	public boolean helpCached()
+	{
+		return tree.execute(sender, "bench", args);
+	}
+
+	@Benchmark
+	public boolean helpRendered()
+	{
+		help.clearCache();
+		return tree.execute(sender, "bench", args);
+	}
+}
@@ -0,0 +1,109 @@
+package com.github.hexocraftapi.command.benchmark;
+
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.util.NumberParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of numeric arguments by {@link NumberParser}, compared with parseX inside a try/catch.
+ * Invalid input is the common case of tab completion and mistyped commands.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberParserBenchmark
+{
+	@Param({"42", "-123456", "3.25", "1.5e3", "abc", "12a", "", "-"})
+	public String value;
+
+	@Benchmark
+	public Integer parserInt()
+	{
+		return NumberParser.parseInt(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+
+	@Benchmark
+	public Integer jdkInt()
+	{
+		try
+		{
+			return Integer.parseInt(value);
+		}
+		catch(Exception e)
+		{
+			return null;
+		}
+	}
+
+	@Benchmark
+	public Double parserDouble()
+	{
+		return NumberParser.parseDouble(value, -Double.MAX_VALUE, Double.MAX_VALUE);
+	}
+
+	@Benchmark
+	public Double jdkDouble()
+	{
+		try
+		{
+			return Double.parseDouble(value);
+		}
+		catch(Exception e)
+		{
+			return null;
+		}
+	}
+
+	@Benchmark
+	public Float parserPitch()
+	{
+		return NumberParser.parseFloat(value, 0f, 2f);
+	}
+
+	@Benchmark
+	public Float jdkPitch()
+	{
+		try
+		{
+			float f = Float.parseFloat(value);
+			return (f >= 0f && f <= 2f) ? f : null;
+		}
+		catch(Exception e)
+		{
+			return null;
+		}
+	}
+}
@@ -0,0 +1,216 @@
+package com.github.hexocraftapi.command.benchmark;
+
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Minimal Bukkit server, plugin, players and worlds used by the benchmarks.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public final class Stubs
+{
+	public static final int PLAYERS = 400;
+	public static final int WORLDS = 200;
+
+	private static Server server;
+	private static BenchPlugin plugin;
+	private static CommandSender sender;
+	private static final List<Player> players = new ArrayList<>();
+	private static final List<World> worlds = new ArrayList<>();
+
+	private Stubs() {}
+
+	/**
+	 * @return The stub server, installed as the Bukkit server
+	 */
+	public static synchronized Server server()
+	{
+		if(server == null)
+		{
+			for(int i = 0; i < PLAYERS; i++)
+				players.add(player("Player" + i));
+			for(int i = 0; i < WORLDS; i++)
+				worlds.add(world("world_" + i));
+
+			final Logger logger = Logger.getLogger("Bench");
+			Map<String,Object> answers = new HashMap<>();
+			answers.put("getLogger", logger);
+			answers.put("getName", "Bench");
+			answers.put("getVersion", "bench");
+			answers.put("getBukkitVersion", "1.13.1-R0.1-SNAPSHOT");
+			answers.put("getOnlinePlayers", players);
+			answers.put("getWorlds", worlds);
+			answers.put("isPrimaryThread", true);
+			server = stub(Server.class, answers, new Answer()
+			{
+				@Override
+				public Object answer(Method method, Object[] args)
+				{
+					if(method.getName().equals("getWorld") && args[0] instanceof String)
+					{
+						for(World world : worlds)
+							if(world.getName().equals(args[0])) return world;
+					}
+					if(method.getName().equals("getPlayer") && args[0] instanceof String)
+					{
+						for(Player player : players)
+							if(player.getName().equalsIgnoreCase((String) args[0])) return player;
+					}
+					return NONE;
+				}
+			});
+			Bukkit.setServer(server);
+		}
+		return server;
+	}
+
+	/**
+	 * @return An enabled plugin
+	 */
+	public static synchronized BenchPlugin plugin()
+	{
+		if(plugin == null)
+		{
+			File folder = new File(System.getProperty("java.io.tmpdir"), "command-bench");
+			plugin = new BenchPlugin(new JavaPluginLoader(server()), new PluginDescriptionFile("Bench", "1.0.0", BenchPlugin.class.getName()), folder, new File(folder, "Bench.jar"));
+			plugin.enable();
+		}
+		return plugin;
+	}
+
+	/**
+	 * @return A sender having every permission
+	 */
+	public static synchronized CommandSender sender()
+	{
+		if(sender == null)
+		{
+			Map<String,Object> answers = new HashMap<>();
+			answers.put("getName", "Bench");
+			answers.put("hasPermission", true);
+			answers.put("isPermissionSet", true);
+			answers.put("isOp", true);
+			answers.put("getServer", server());
+			sender = stub(CommandSender.class, answers, null);
+		}
+		return sender;
+	}
+
+	private static Player player(String name)
+	{
+		Map<String,Object> answers = new HashMap<>();
+		answers.put("getName", name);
+		answers.put("getDisplayName", name);
+		answers.put("getUniqueId", UUID.nameUUIDFromBytes(name.getBytes()));
+		answers.put("canSee", true);
+		answers.put("isOnline", true);
+		answers.put("hasPermission", true);
+		return stub(Player.class, answers, null);
+	}
+
+	private static World world(String name)
+	{
+		Map<String,Object> answers = new HashMap<>();
+		answers.put("getName", name);
+		answers.put("getUID", UUID.nameUUIDFromBytes(name.getBytes()));
+		return stub(World.class, answers, null);
+	}
+
+
+	interface Answer
+	{
+		Object NONE = new Object();
+
+		Object answer(Method method, Object[] args);
+	}
+
+	private static <T> T stub(final Class<T> type, final Map<String,Object> answers, final Answer answer)
+	{
+		InvocationHandler handler = new InvocationHandler()
+		{
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args)
+			{
+				String name = method.getName();
+				if(name.equals("equals")) return proxy == args[0];
+				if(name.equals("hashCode")) return System.identityHashCode(proxy);
+				if(name.equals("toString")) return type.getSimpleName() + answers.get("getName");
+
+				if(answer != null)
+				{
+					Object value = answer.answer(method, args);
+					if(value != Answer.NONE) return value;
+				}
+				if(answers.containsKey(name))
+					return answers.get(name);
+
+				// Default values
+				Class<?> returnType = method.getReturnType();
+				if(returnType == boolean.class) return false;
+				if(returnType == int.class) return 0;
+				if(returnType == long.class) return 0L;
+				if(returnType == double.class) return 0d;
+				if(returnType == float.class) return 0f;
+				if(returnType == short.class) return (short) 0;
+				if(returnType == byte.class) return (byte) 0;
+				if(returnType == char.class) return (char) 0;
+				if(Collection.class.isAssignableFrom(returnType)) return new ArrayList<Object>();
+				return null;
+			}
+		};
+		return type.cast(Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[] { type }, handler));
+	}
+
+
+	/**
+	 * Plugin created outside of a server, through the JavaPlugin test constructor
+	 */
+	public static class BenchPlugin extends JavaPlugin
+	{
+		public BenchPlugin(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file)
+		{
+			super(loader, description, dataFolder, file);
+		}
+
+		void enable()
+		{
+			setEnabled(true);
+		}
+	}
+}
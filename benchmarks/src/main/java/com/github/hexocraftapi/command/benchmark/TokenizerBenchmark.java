@@ -0,0 +1,165 @@
+package com.github.hexocraftapi.command.benchmark;
+
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.CommandLine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokenization of command lines by {@link CommandLine}, compared with the former reArgs implementation.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenizerBenchmark
+{
+	@Param({"plain", "quoted", "manyQuotes"})
+	public String input;
+
+	private String[] args;
+
+	@Setup
+	public void setup()
+	{
+		switch(input)
+		{
+			case "plain":
+				args = "give Player1 stone 64 and some more words".split(" ");
+				break;
+			case "quoted":
+				args = "rename \"The quick brown fox\" 'jumps over' the \"lazy dog\"".split(" ");
+				break;
+			default:
+				// A quote opened on the first token and never closed
+				List<String> tokens = new ArrayList<>();
+				tokens.add("\"open");
+				for(int i = 0; i < 250; i++)
+					tokens.add("\"word" + i);
+				args = tokens.toArray(new String[tokens.size()]);
+		}
+	}
+
+	@Benchmark
+	public CommandLine commandLine()
+	{
+		CommandLine line = CommandLine.parse(args, false);
+		// Materialize the tokens, as the dispatcher does
+		for(int i = 0; i < line.size(); i++)
+			line.get(i);
+		return line;
+	}
+
+	@Benchmark
+	public String[] legacyReArgs()
+	{
+		return reArgs(args);
+	}
+
+	/**
+	 * Former implementation of Command.reArgs, kept as a baseline
+	 */
+	private static String[] reArgs(String[] args)
+	{
+		List<String> newArgs = new ArrayList<>();
+
+		for(int i = 0; i < args.length; i++)
+		{
+			String arg = args[i];
+
+			if(arg.startsWith("\"") && arg.endsWith("\""))
+			{
+				newArgs.add(arg.substring(1, arg.length() - 1));
+			}
+			else if(arg.startsWith("\""))
+			{
+				String tempArg = arg.substring(1);
+				int j;
+
+				for(j = i + 1; j < args.length; j++)
+				{
+					arg = args[j];
+					if(arg.endsWith("\""))
+					{
+						tempArg += " ";
+						tempArg += arg.substring(0, arg.length() - 1);
+						break;
+					}
+					else
+					{
+						tempArg += " ";
+						tempArg += arg;
+					}
+				}
+
+				newArgs.add(tempArg);
+				i = j;
+			}
+			else if(arg.startsWith("'") && arg.endsWith("'"))
+			{
+				newArgs.add(arg.substring(1, arg.length() - 1));
+			}
+			else if(arg.startsWith("'"))
+			{
+				String tempArg = arg.substring(1);
+				int j;
+
+				for(j = i + 1; j < args.length; j++)
+				{
+					arg = args[j];
+					if(arg.endsWith("'"))
+					{
+						tempArg += " ";
+						tempArg += arg.substring(0, arg.length() - 1);
+						break;
+					}
+					else
+					{
+						tempArg += " ";
+						tempArg += arg;
+					}
+				}
+
+				newArgs.add(tempArg);
+				i = j;
+			}
+			else
+				newArgs.add(arg);
+		}
+
+		return newArgs.toArray(new String[newArgs.size()]);
+	}
+}
@@ -0,0 +1,110 @@
+package com.github.hexocraftapi.command.benchmark;
+
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.Command;
+import com.github.hexocraftapi.command.CommandArgument;
+import com.github.hexocraftapi.command.CommandInfo;
+import com.github.hexocraftapi.command.predifined.CommandHelp;
+import com.github.hexocraftapi.command.type.ArgTypeInteger;
+import com.github.hexocraftapi.command.type.ArgTypeString;
+import com.github.hexocraftapi.command.benchmark.Stubs.BenchPlugin;
+
+import java.util.Arrays;
+
+/**
+ * Command trees used by the benchmarks.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public final class Trees
+{
+	private Trees() {}
+
+	/**
+	 * @param width Number of sub commands of the main command
+	 *
+	 * @return A main command with width sub commands named sub0, sub1... each having two aliases and two arguments
+	 */
+	public static Command<BenchPlugin> wide(int width)
+	{
+		BenchPlugin plugin = Stubs.plugin();
+		Command<BenchPlugin> main = new Leaf("bench", plugin);
+		main.addSubCommand(new CommandHelp<BenchPlugin>(plugin));
+		for(int i = 0; i < width; i++)
+		{
+			Command<BenchPlugin> sub = new Leaf("sub" + i, plugin);
+			sub.setAliases(Arrays.asList("s" + i, "alias" + i));
+			sub.setDescription("Description of the sub command " + i + "\nSecond line of the description");
+			sub.addArgument(new CommandArgument<String>("name", ArgTypeString.get(), true));
+			sub.addArgument(new CommandArgument<Integer>("count", ArgTypeInteger.get(), 1, false));
+			main.addSubCommand(sub);
+		}
+		return main;
+	}
+
+	/**
+	 * @param depth Depth of the tree
+	 *
+	 * @return A main command with a single chain of sub commands named level1, level2...
+	 */
+	public static Command<BenchPlugin> deep(int depth)
+	{
+		BenchPlugin plugin = Stubs.plugin();
+		Command<BenchPlugin> main = new Leaf("bench", plugin);
+		Command<BenchPlugin> parent = main;
+		for(int i = 1; i <= depth; i++)
+		{
+			Command<BenchPlugin> sub = new Leaf("level" + i, plugin);
+			sub.setAliases(Arrays.asList("l" + i));
+			parent.addSubCommand(sub);
+			parent = sub;
+		}
+		parent.addArgument(new CommandArgument<String>("name", ArgTypeString.get(), true));
+		return main;
+	}
+
+	/**
+	 * @param depth Depth of the tree
+	 *
+	 * @return Arguments routing to the leaf of {@link #deep(int)}
+	 */
+	public static String[] deepArgs(int depth)
+	{
+		String[] args = new String[depth + 1];
+		for(int i = 1; i <= depth; i++)
+			args[i - 1] = "LEVEL" + i;
+		args[depth] = "value";
+		return args;
+	}
+
+
+	static class Leaf extends Command<BenchPlugin>
+	{
+		Leaf(String name, BenchPlugin plugin)
+		{
+			super(name, plugin);
+		}
+
+		@Override
+		public boolean onCommand(CommandInfo commandInfo)
+		{
+			return true;
+		}
+	}
+}
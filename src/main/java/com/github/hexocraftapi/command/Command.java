@@ -20,22 +20,34 @@ import com.github.hexocraftapi.chat.MessageBuilder;
 import com.github.hexocraftapi.chat.event.ClickEvent;
 import com.github.hexocraftapi.chat.event.HoverEvent;
 import com.github.hexocraftapi.command.errors.CommandErrorType;
+import com.github.hexocraftapi.command.limit.RateLimiter;
+import com.github.hexocraftapi.command.locale.CommandLocale;
 import com.github.hexocraftapi.command.message.MessageHelp;
+import com.github.hexocraftapi.command.metrics.CommandMetrics;
+import com.github.hexocraftapi.command.metrics.CommandOutcome;
+import com.github.hexocraftapi.command.metrics.CommandWatchdog;
+import com.github.hexocraftapi.command.type.MainThreadArgType;
+import com.github.hexocraftapi.command.type.SuggestArgType;
 import com.github.hexocraftapi.message.Sentence;
 import com.github.hexocraftapi.message.locale.Locale;
 import com.github.hexocraftapi.message.predifined.MessageColor;
 import com.github.hexocraftapi.message.predifined.message.ErrorMessage;
 import com.github.hexocraftapi.message.predifined.message.WarnPermissionMessage;
 import com.google.common.collect.Lists;
-import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.Validate;
 import org.bukkit.command.CommandException;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.PluginIdentifiableCommand;
 import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Entity;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.util.StringUtil;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.logging.Level;
 
 /**
  * This file is part of HexocubeItems
@@ -61,19 +73,62 @@ public abstract class Command<PluginClass extends JavaPlugin> extends org.bukkit
 	private Command<?> parentCommand;
 
 	/**
-	 * List of sub commands
+	 * Sub commands and arguments of the command.
+	 * Copied on write: each change publishes a new snapshot, read without lock.
 	 */
-	private final Map<String,Command<?>> subCommands = new LinkedHashMap<>();
+	private volatile CommandSnapshot snapshot = CommandSnapshot.EMPTY;
 
 	/**
-	 * List of arguments used for the command
+	 * Path of the command from the main command, null until computed
 	 */
-	private final List<CommandArgument<?>> arguments = new ArrayList<>();
+	private volatile String path = null;
 
 	/**
-	 * Indicate that the last argument is an instance of {@link Collection}
+	 * Indicate that the lookup indexes are built when a snapshot is published, see {@link #freeze()}
 	 */
-	private boolean hasCollection = false;
+	private volatile boolean frozen = false;
+
+	/**
+	 * Indicate that the tab completion of the command can be computed off the main thread
+	 */
+	private boolean asyncTabComplete = false;
+
+	/**
+	 * Indicate that the command is executed off the main thread
+	 */
+	private boolean async = false;
+
+	/**
+	 * Modification counter of the command and its sub commands, incremented through {@link #TREE_VERSION}
+	 */
+	private volatile long treeVersion = 0;
+	@SuppressWarnings("rawtypes")
+	private static final AtomicLongFieldUpdater<Command> TREE_VERSION = AtomicLongFieldUpdater.newUpdater(Command.class, "treeVersion");
+
+	/**
+	 * Metrics of the command and its sub commands, null if not measured
+	 */
+	private volatile CommandMetrics metrics = null;
+
+	/**
+	 * Watchdog of the command and its sub commands, null if not watched
+	 */
+	private volatile CommandWatchdog watchdog = null;
+
+	/**
+	 * Tick budget of the handler in milliseconds, 0 to use the default budget of the watchdog
+	 */
+	private long tickBudget = 0;
+
+	/**
+	 * Limit of executions of the command and its sub commands per sender, null if not limited
+	 */
+	private volatile RateLimiter executeLimiter = null;
+
+	/**
+	 * Limit of tab completions of the command and its sub commands per sender, null if not limited
+	 */
+	private volatile RateLimiter tabCompleteLimiter = null;
 
 
 
@@ -110,6 +165,7 @@ public abstract class Command<PluginClass extends JavaPlugin> extends org.bukkit
 	private void setParentCommand(Command<?> parentCommand)
 	{
 		this.parentCommand = parentCommand;
+		this.pathChanged();
 	}
 
 	/**
@@ -133,6 +189,36 @@ public abstract class Command<PluginClass extends JavaPlugin> extends org.bukkit
 		return main;
 	}
 
+	/**
+	 * @return Path of the command, from the main command, separated by spaces
+	 */
+	public String getPath()
+	{
+		String commandPath = this.path;
+		if(commandPath == null)
+		{
+			commandPath = getName();
+			for(Command<?> parent = getParentCommand(); parent != null; parent = parent.getParentCommand())
+				commandPath = parent.getName() + " " + commandPath;
+			this.path = commandPath;
+		}
+		return commandPath;
+	}
+
+	/**
+	 * Drop the cached path of the command and of its sub commands
+	 */
+	private void pathChanged()
+	{
+		this.path = null;
+		CommandSnapshot commandSnapshot = this.snapshot;
+		if(commandSnapshot != null)
+		{
+			for(Command<?> subCommand : commandSnapshot.subCommands.values())
+				subCommand.pathChanged();
+		}
+	}
+
 	/**
 	 * @param subCommand Sub command to add to the actual command
 	 *
@@ -140,72 +226,263 @@ public abstract class Command<PluginClass extends JavaPlugin> extends org.bukkit
 	 */
 	public Command<?> addSubCommand(Command<?> subCommand)
 	{
-		subCommand.setParentCommand(this);
-		this.subCommands.put(subCommand.getName(), subCommand);
-		return this;
+		return edit().addSubCommand(subCommand).commit();
 	}
 
 	/**
-	 * @param subCommandName Name of the sub command
+	 * @param subCommandName Name or alias of the sub command to remove (case insensitive)
 	 *
-	 * @return A sub command by its name
+	 * @return The command
 	 */
-	public Command<?> getSubCommand(String subCommandName)
+	public Command<?> removeSubCommand(String subCommandName)
+	{
+		return edit().removeSubCommand(subCommandName).commit();
+	}
+
+	/**
+	 * @param subCommand Sub command to remove
+	 *
+	 * @return The command
+	 */
+	public Command<?> removeSubCommand(Command<?> subCommand)
+	{
+		return edit().removeSubCommand(subCommand).commit();
+	}
+
+	/**
+	 * Start a batch of changes to the sub commands and the arguments,
+	 * published as a single new version by {@link CommandEdit#commit()}.
+	 *
+	 * @return A new batch of changes
+	 */
+	public CommandEdit edit()
+	{
+		return new CommandEdit(this);
+	}
+
+	/**
+	 * Apply the changes on a copy of the sub commands and the arguments, then publish the copy.
+	 * Writers are serialized, readers never block.
+	 *
+	 * @param changes Changes to apply
+	 *
+	 * @return The command
+	 */
+	Command<?> commit(List<CommandEdit.Change> changes)
 	{
-		for(Map.Entry<String,Command<?>> entry : this.subCommands.entrySet())
+		if(changes.isEmpty())
+			return this;
+
+		synchronized(this)
 		{
-			String commandName = entry.getKey();
-			Command<?> command = entry.getValue();
+			CommandSnapshot current = this.snapshot;
+			Map<String,Command<?>> subCommands = new LinkedHashMap<>(current.subCommands);
+			List<CommandArgument<?>> arguments = new ArrayList<>(current.arguments);
+
+			// Nothing is published if a change fails
+			for(CommandEdit.Change change : changes)
+				change.apply(subCommands, arguments);
 
-			if(commandName.toLowerCase().equals(subCommandName.toLowerCase()))
-				return command;
+			Set<Command<?>> before = Collections.newSetFromMap(new IdentityHashMap<Command<?>,Boolean>());
+			before.addAll(current.subCommands.values());
+			Set<Command<?>> after = Collections.newSetFromMap(new IdentityHashMap<Command<?>,Boolean>());
+			after.addAll(subCommands.values());
 
-			for(String alias : command.getAliases())
+			// Link the added sub commands before publishing them
+			for(Command<?> subCommand : after)
 			{
-				if(alias.equals(subCommandName))
-					return command;
+				if(before.contains(subCommand)) continue;
+				subCommand.setParentCommand(this);
+				if(this.frozen)
+					subCommand.freeze();
 			}
+			for(Command<?> subCommand : before)
+			{
+				if(!after.contains(subCommand) && subCommand.getParentCommand() == this)
+				{
+					// Forget the measures of a path no longer in the tree
+					if(!subCommands.containsKey(subCommand.getName()))
+						forget(subCommand);
+					subCommand.setParentCommand(null);
+				}
+			}
+
+			this.snapshot = new CommandSnapshot(Collections.unmodifiableMap(subCommands), Collections.unmodifiableList(arguments), this.frozen);
 		}
-		return null;
+
+		this.treeChanged();
+		return this;
 	}
 
 	/**
-	 * @return List of all sub commands
+	 * Remove the metrics and the watchdog reports of a removed sub command and of its sub commands
+	 *
+	 * @param subCommand Removed sub command, still linked to its parent
 	 */
-	public Map<String,Command<?>> getSubCommands()
+	private void forget(Command<?> subCommand)
 	{
-		return this.subCommands;
+		CommandMetrics commandMetrics = getMetrics();
+		if(commandMetrics != null)
+			commandMetrics.remove(subCommand.getPath());
+		CommandWatchdog commandWatchdog = getWatchdog();
+		if(commandWatchdog != null)
+			commandWatchdog.remove(subCommand.getPath());
 	}
 
 	/**
-	 * Add an @{link CommandArgument} to the command
+	 * @return Modification counter of the command and its sub commands.
+	 *         It changes each time a sub command, an argument, a name, an alias,
+	 *         a description or a permission change in the tree.
+	 */
+	public long getTreeVersion()
+	{
+		return treeVersion;
+	}
+
+	/**
+	 * Notify the command and its parents that the tree changed
+	 */
+	protected void treeChanged()
+	{
+		for(Command<?> command = this; command != null; command = command.getParentCommand())
+			TREE_VERSION.incrementAndGet(command);
+	}
+
+	/**
+	 * @param subCommandName Name or alias of the sub command (case insensitive)
 	 *
-	 * @param argument Argument to add
+	 * @return A sub command by its name
+	 */
+	public Command<?> getSubCommand(String subCommandName)
+	{
+		return snapshot().getSubCommand(subCommandName);
+	}
+
+	/**
+	 * Freeze the command and its sub commands.
+	 *
+	 * The sub commands and the arguments are always read from an immutable snapshot
+	 * that any thread can read without lock, and each change publishes a new snapshot.
+	 * Once frozen, the lookup indexes of a snapshot are compiled before it is published,
+	 * so readers never build them. Sub commands added to a frozen command are frozen.
 	 *
 	 * @return The command
 	 */
-	public Command<?> addArgument(CommandArgument<?> argument)
+	public Command<?> freeze()
 	{
-		// Can't add a mandatory argument after an optional argument
-		if(	(argument.isMandatory() || argument.isMandatoryForConsole())
-			&& this.arguments.size()>0
-			&& this.arguments.get(this.arguments.size()-1).isOptional())
-			throw new IllegalArgumentException("You can't add mandatory argument after an optional argument.");
+		for(Command<?> subCommand : snapshot().subCommands.values())
+			subCommand.freeze();
+		synchronized(this)
+		{
+			this.frozen = true;
+			this.snapshot = this.snapshot.rebuild(true);
+		}
+		return this;
+	}
 
-		// Can't add an argument after an argument implement a collection
-		if(	this.arguments.size()>0
-			&& this.arguments.get(this.arguments.size()-1).isCollection())
-			throw new IllegalArgumentException("You can't add argument after a hasCollection.");
+	/**
+	 * @return true if the command is frozen, see {@link #freeze()}
+	 */
+	public boolean isFrozen()
+	{
+		return frozen;
+	}
 
-		// Add the argument to the list
-		this.arguments.add(argument);
+	/**
+	 * @return Immutable view of the sub commands and the arguments
+	 */
+	CommandSnapshot snapshot()
+	{
+		return this.snapshot;
+	}
 
-		// Check if this arg is a collection
-		this.hasCollection = argument.isCollection();
+	/**
+	 * Publish a new snapshot with fresh lookup indexes, after a sub command name or alias changed
+	 */
+	private void snapshotChanged()
+	{
+		synchronized(this)
+		{
+			this.snapshot = this.snapshot.rebuild(this.frozen);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * The parent command index is updated with the new aliases.
+	 */
+	@Override
+	public org.bukkit.command.Command setAliases(List<String> aliases)
+	{
+		super.setAliases(aliases);
+		if(this.parentCommand != null)
+			this.parentCommand.snapshotChanged();
+		this.treeChanged();
+		return this;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * The parent command index is updated with the new name.
+	 */
+	@Override
+	public boolean setName(String name)
+	{
+		boolean changed = super.setName(name);
+		if(changed)
+			this.pathChanged();
+		if(changed && this.parentCommand != null)
+			this.parentCommand.snapshotChanged();
+		if(changed)
+			this.treeChanged();
+		return changed;
+	}
+
+	@Override
+	public org.bukkit.command.Command setDescription(String description)
+	{
+		super.setDescription(description);
+		this.treeChanged();
+		return this;
+	}
 
+	@Override
+	public org.bukkit.command.Command setUsage(String usage)
+	{
+		super.setUsage(usage);
+		this.treeChanged();
 		return this;
 	}
 
+	@Override
+	public void setPermission(String permission)
+	{
+		super.setPermission(permission);
+		this.treeChanged();
+	}
+
+	/**
+	 * @return Unmodifiable map of all sub commands
+	 */
+	public Map<String,Command<?>> getSubCommands()
+	{
+		return snapshot().subCommands;
+	}
+
+	/**
+	 * Add an @{link CommandArgument} to the command
+	 *
+	 * @param argument Argument to add
+	 *
+	 * @return The command
+	 */
+	public Command<?> addArgument(CommandArgument<?> argument)
+	{
+		return edit().addArgument(argument).commit();
+	}
+
 	/**
 	 * remove an @{link CommandArgument} to the command
 	 *
@@ -215,20 +492,7 @@ public abstract class Command<PluginClass extends JavaPlugin> extends org.bukkit
 	 */
 	public Command<?> removeArgument(String name)
 	{
-		for(CommandArgument<?> argument : this.arguments)
-		{
-			if(argument.getName().toLowerCase().equals(name.toLowerCase()))
-			{
-				// Remove the argument
-				this.arguments.remove(argument);
-				// Check if it's a collection
-				if(argument.isCollection()) this.hasCollection = false;
-				//
-				return this;
-			}
-		}
-
-		return this;
+		return edit().removeArgument(name).commit();
 	}
 
 	/**
@@ -238,11 +502,7 @@ public abstract class Command<PluginClass extends JavaPlugin> extends org.bukkit
 	 */
 	public int getMinArgs(CommandSender sender)
 	{
-		// Count the number of optional arguments
-		int minArgs = 0;
-		for(CommandArgument arg : arguments)
-			minArgs += arg.isMandatory(sender)?1:0;
-		return minArgs;
+		return snapshot().getMinArgs(sender);
 	}
 
 	/**
@@ -250,12 +510,201 @@ public abstract class Command<PluginClass extends JavaPlugin> extends org.bukkit
 	 */
 	public int getMaxArgs()
 	{
-		return this.hasCollection ? Integer.MAX_VALUE : arguments.size();
+		return snapshot().getMaxArgs();
 	}
 
+	/**
+	 * @return Unmodifiable list of the arguments
+	 */
 	public List<CommandArgument<?>> getArguments()
 	{
-		return arguments;
+		return snapshot().arguments;
+	}
+
+	/**
+	 * @return true if the tab completion of the command can be computed off the main thread
+	 */
+	public boolean isAsyncTabComplete()
+	{
+		return asyncTabComplete;
+	}
+
+	/**
+	 * Allow the tab completion of the command to be computed off the main thread,
+	 * see {@link #tabCompleteAsync(CommandSender, String, String[])}.
+	 *
+	 * Only enable it if {@link #onTabComplete(CommandInfo)} is thread safe.
+	 * The completion of arguments implementing {@link MainThreadArgType} is always done on the main thread.
+	 *
+	 * @param asyncTabComplete true to allow asynchronous tab completion
+	 *
+	 * @return The command
+	 */
+	public Command<?> setAsyncTabComplete(boolean asyncTabComplete)
+	{
+		this.asyncTabComplete = asyncTabComplete;
+		return this;
+	}
+
+	/**
+	 * @return true if {@link #onCommand(CommandInfo)} is executed off the main thread
+	 */
+	public boolean isAsync()
+	{
+		return async;
+	}
+
+	/**
+	 * Execute {@link #onCommand(CommandInfo)} off the main thread, on {@link CommandThreads#getWorkers()}.
+	 *
+	 * The arguments are still parsed and the permissions checked on the main thread.
+	 * Use {@link CommandInfo#runSync(Runnable)} or {@link CommandInfo#callSync(java.util.concurrent.Callable)}
+	 * to get back on the main thread. The result of the command is available through
+	 * {@link #executeAsync(CommandSender, String, String[])}.
+	 *
+	 * @param async true to execute the command asynchronously
+	 *
+	 * @return The command
+	 */
+	public Command<?> setAsync(boolean async)
+	{
+		this.async = async;
+		return this;
+	}
+
+	/**
+	 * @return Metrics of the command, inherited from the parent commands, or null if the command is not measured
+	 */
+	public CommandMetrics getMetrics()
+	{
+		for(Command<?> command = this; command != null; command = command.getParentCommand())
+		{
+			CommandMetrics commandMetrics = command.metrics;
+			if(commandMetrics != null) return commandMetrics;
+		}
+		return null;
+	}
+
+	/**
+	 * Record the invocation counts, outcomes and latencies of the command and of its sub commands.
+	 * Usually set on the main command.
+	 *
+	 * @param metrics Metrics registry, null to stop measuring
+	 *
+	 * @return The command
+	 */
+	public Command<?> setMetrics(CommandMetrics metrics)
+	{
+		this.metrics = metrics;
+		return this;
+	}
+
+	/**
+	 * @return Watchdog of the command, inherited from the parent commands, or null if the command is not watched
+	 */
+	public CommandWatchdog getWatchdog()
+	{
+		for(Command<?> command = this; command != null; command = command.getParentCommand())
+		{
+			CommandWatchdog commandWatchdog = command.watchdog;
+			if(commandWatchdog != null) return commandWatchdog;
+		}
+		return null;
+	}
+
+	/**
+	 * Report the synchronous handlers of the command and of its sub commands running over their tick budget.
+	 * Usually set on the main command.
+	 *
+	 * @param watchdog Watchdog, null to stop watching
+	 *
+	 * @return The command
+	 */
+	public Command<?> setWatchdog(CommandWatchdog watchdog)
+	{
+		this.watchdog = watchdog;
+		return this;
+	}
+
+	/**
+	 * @return Tick budget of the handler in milliseconds, 0 if the default budget of the watchdog is used
+	 */
+	public long getTickBudget()
+	{
+		return tickBudget;
+	}
+
+	/**
+	 * @param tickBudget Tick budget of the handler in milliseconds, 0 to use the default budget of the watchdog
+	 *
+	 * @return The command
+	 */
+	public Command<?> setTickBudget(long tickBudget)
+	{
+		if(tickBudget < 0) throw new IllegalArgumentException("tickBudget must be positive");
+		this.tickBudget = tickBudget;
+		return this;
+	}
+
+	/**
+	 * @return Limit of executions of the command and its sub commands per sender, or null
+	 */
+	public RateLimiter getExecuteLimiter()
+	{
+		return executeLimiter;
+	}
+
+	/**
+	 * Limit the executions of the command and of its sub commands, per sender.
+	 * The limiter can be shared by several commands.
+	 * Only the senders having a unique id (players and entities) are limited.
+	 *
+	 * @param executeLimiter Limiter, null to remove the limit
+	 *
+	 * @return The command
+	 */
+	public Command<?> setExecuteLimiter(RateLimiter executeLimiter)
+	{
+		this.executeLimiter = executeLimiter;
+		return this;
+	}
+
+	/**
+	 * @return Limit of tab completions of the command and its sub commands per sender, or null
+	 */
+	public RateLimiter getTabCompleteLimiter()
+	{
+		return tabCompleteLimiter;
+	}
+
+	/**
+	 * Limit the tab completions of the command and of its sub commands, per sender.
+	 * The limiter can be shared by several commands.
+	 * Only the senders having a unique id (players and entities) are limited.
+	 *
+	 * @param tabCompleteLimiter Limiter, null to remove the limit
+	 *
+	 * @return The command
+	 */
+	public Command<?> setTabCompleteLimiter(RateLimiter tabCompleteLimiter)
+	{
+		this.tabCompleteLimiter = tabCompleteLimiter;
+		return this;
+	}
+
+	/**
+	 * @param commandInfo Info about the command
+	 *
+	 * @return The argument being completed, or null
+	 */
+	public CommandArgument<?> getCompletedArgument(CommandInfo commandInfo)
+	{
+		CommandSnapshot snapshot = snapshot();
+		int index = Math.max(0, commandInfo.numArgs() - 1);
+		// A collection completes all the remaining words
+		if(snapshot.hasCollection)
+			index = Math.min(index, snapshot.argumentArray.length - 1);
+		return snapshot.getArgument(index);
 	}
 
 	public Sentence getHelp()
@@ -316,287 +765,434 @@ public abstract class Command<PluginClass extends JavaPlugin> extends org.bukkit
 	}
 
 	/* Internal use */
-	private String getStringArg(int index, String[] args)
+	private String getStringArg(int index, CommandLine args)
+	{
+		return (args.size()>index)?args.get(index):null;
+	}
+
+	private String getStringListArg(int index, CommandLine args)
+	{
+		return args.join(index);
+	}
+
+	private static Object parseArg(CommandArgument<?> argument, String value)
+	{
+		if(value == null)
+			return null;
+
+		// A value that can't be parsed is a mismatch, not an error of the command
+		try
+		{
+			return argument.getType().get(value);
+		}
+		catch(RuntimeException ex)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Executes the given command, returning its success
+	 * Override this method in your command
+	 *
+	 * @param commandInfo Info about the command
+	 *
+	 * @return true if a valid command, otherwise false
+	 */
+	public boolean onCommand(CommandInfo commandInfo) { return false; }
+
+	/**
+	 * Requests a list of possible completions for a command argument.
+	 * Override this method in your command
+	 *
+	 * @param commandInfo Info about the command
+	 *
+	 * @return A List of possible completions for the final argument, or null
+	 * to default to the command executor
+	 */
+	public List<String> onTabComplete(CommandInfo commandInfo)
+	{
+		List<String> completions = Lists.newArrayList();
+
+		if(commandInfo.numArgs() == 0)
+		{
+			for(String commandName : snapshot().subCommands.keySet())
+				completions.add(commandName);
+
+			CommandArgument<?> argument = getCompletedArgument(commandInfo);
+			if(argument != null)
+				completions = argument.getType().tabComplete(commandInfo);
+		}
+		else
+		{
+			for(String commandName : snapshot().subCommands.keySet())
+			{
+				if(StringUtil.startsWithIgnoreCase(commandName, commandInfo.getLastArg()))
+					completions.add(commandName);
+			}
+
+			CommandArgument<?> argument = getCompletedArgument(commandInfo);
+			if(argument != null)
+				completions = argument.getType().tabComplete(commandInfo);
+		}
+
+		if(completions != null && completions.size() > 0)
+			Collections.sort(completions, String.CASE_INSENSITIVE_ORDER);
+
+		return completions;
+	}
+
+	/**
+	 * Called when sender does not have necessary permissions.
+	 * Override this method in your command
+	 *
+	 * @param sender Source object which is executing this command
+	 */
+	public void onPermissionRefused(CommandSender sender)
+	{
+		if(this.getPermissionMessage()!=null && this.getPermissionMessage().isEmpty()==false)
+		{
+			for (String line : this.getPermissionMessage().replace("<permission>", this.getPermission()).split("\n")) {
+				new ErrorMessage(line).send(sender);
+			}
+		}
+		else
+			new WarnPermissionMessage().send(sender);
+	}
+
+	/**
+	 * Called when sender is over the execution limit of the command.
+	 * Override this method in your command
+	 *
+	 * @param sender Source object which is executing this command
+	 */
+	public void onRateLimited(CommandSender sender)
+	{
+		new ErrorMessage(CommandLocale.command_rate_limited).send(sender);
+	}
+
+	public void onCommandHelp(CommandErrorType error, CommandInfo commandInfo)
 	{
-		return (args.length>index)?args[index]:null;
+		boolean isMainCommand = this.parentCommand == null;
+		boolean isSubCommand = this.parentCommand != null;
+
+		// Display help for the main command
+		if(isMainCommand==true)
+		{
+			// Send Usage Message
+			new MessageHelp(error, commandInfo).build().send(commandInfo.getSenders());
+		}
+
+		// Display help of sub command
+		else if(isSubCommand==true)
+		{
+			// Send Usage Message
+			new MessageHelp(error, commandInfo).build().send(commandInfo.getSenders());
+		}
 	}
 
-	private String getStringListArg(int index, String[] args)
+	/**
+	 * Command classes overriding {@link #execute(CommandSender, String, String[])}
+	 */
+	private static final ClassValue<Boolean> EXECUTE_OVERRIDDEN = new ExecuteOverridden(String[].class);
+
+	/**
+	 * Command classes overriding {@link #execute(CommandSender, String, CommandLine)}
+	 */
+	private static final ClassValue<Boolean> EXECUTE_LINE_OVERRIDDEN = new ExecuteOverridden(CommandLine.class);
+
+	private static final class ExecuteOverridden extends ClassValue<Boolean>
+	{
+		private final Class<?> argsType;
+
+		ExecuteOverridden(Class<?> argsType)
+		{
+			this.argsType = argsType;
+		}
+
+		@Override
+		protected Boolean computeValue(Class<?> type)
+		{
+			try
+			{
+				return type.getMethod("execute", CommandSender.class, String.class, argsType).getDeclaringClass() != Command.class;
+			}
+			catch(NoSuchMethodException ex)
+			{
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Executes the command, returning its success
+	 *
+	 * @param sender       Source object which is executing this command
+	 * @param commandLabel The alias of the command used
+	 * @param args         All arguments passed to the command, split via ' '
+	 *
+	 * @return true if the command was successful, otherwise false
+	 */
+	@Override
+	public boolean execute(CommandSender sender, String commandLabel, String[] args)
+	{
+		CommandInvocation invocation = new CommandInvocation(getMetrics());
+
+		// Reject the senders over the limit before tokenizing
+		if(!allowExecution(sender, Arrays.asList(args), invocation))
+			return false;
+
+		// Tokenize args once, handling string " or '
+		return execute(sender, commandLabel, CommandLine.parse(args, false), invocation);
+	}
+
+	/**
+	 * Executes the command, returning its success
+	 *
+	 * @param sender       Source object which is executing this command
+	 * @param commandLabel The alias of the command used
+	 * @param args         Tokenized arguments passed to the command
+	 *
+	 * @return true if the command was successful, otherwise false
+	 */
+	public boolean execute(CommandSender sender, String commandLabel, CommandLine args)
+	{
+		CommandInvocation invocation = new CommandInvocation(getMetrics());
+
+		if(!allowExecution(sender, args.asList(), invocation))
+			return false;
+
+		return execute(sender, commandLabel, args, invocation);
+	}
+
+	/**
+	 * Executes the command, returning its future result.
+	 *
+	 * Must be called from the main thread. The future is already completed,
+	 * unless the executed command is asynchronous (see {@link #setAsync(boolean)}).
+	 *
+	 * @param sender       Source object which is executing this command
+	 * @param commandLabel The alias of the command used
+	 * @param args         All arguments passed to the command, split via ' '
+	 *
+	 * @return The future success of the command, completed exceptionally with a {@link CommandException}
+	 *         if the command throw an exception
+	 */
+	public CompletableFuture<Boolean> executeAsync(CommandSender sender, String commandLabel, String[] args)
+	{
+		CommandInvocation invocation = new CommandInvocation(getMetrics());
+
+		if(!allowExecution(sender, Arrays.asList(args), invocation))
+			return CompletableFuture.completedFuture(false);
+
+		boolean success = execute(sender, commandLabel, CommandLine.parse(args, false), invocation);
+		return invocation.future != null ? invocation.future : CompletableFuture.completedFuture(success);
+	}
+
+	/**
+	 * Executes the command for a script, without help nor permission messages
+	 *
+	 * @return The outcome of the command
+	 */
+	CommandOutcome executeQuietly(CommandSender sender, String commandLabel, CommandLine args)
 	{
-		return StringUtils.join(args," ",index, args.length);
+		CommandInvocation invocation = new CommandInvocation(getMetrics());
+		invocation.quiet = true;
+		execute(sender, commandLabel, args, invocation);
+		return invocation.outcome;
 	}
 
 	/**
-	 * Executes the given command, returning its success
-	 * Override this method in your command
+	 * Check the execution limits along the route of the arguments
 	 *
-	 * @param commandInfo Info about the command
-	 *
-	 * @return true if a valid command, otherwise false
+	 * @return true if the sender is allowed to execute the command
 	 */
-	public boolean onCommand(CommandInfo commandInfo) { return false; }
+	private boolean allowExecution(CommandSender sender, List<String> args, CommandInvocation invocation)
+	{
+		Command<?> limited = rateLimited(sender, args, false);
+		if(limited == null)
+			return true;
+
+		if(invocation.metrics != null)
+			invocation.metrics.recordExecution(limited, CommandOutcome.RATE_LIMITED);
+		limited.onRateLimited(sender);
+		return false;
+	}
 
 	/**
-	 * Requests a list of possible completions for a command argument.
-	 * Override this method in your command
+	 * Find the first command, along the route of the arguments, whose limiter rejects the sender.
+	 * The arguments are the raw ones: sub commands are found without tokenizing the command line.
 	 *
-	 * @param commandInfo Info about the command
+	 * @param args       Raw or tokenized arguments
+	 * @param completion true to check the tab completion limits, false to check the execution limits
 	 *
-	 * @return A List of possible completions for the final argument, or null
-	 * to default to the command executor
+	 * @return The command rejecting the sender, or null if the sender is allowed
 	 */
-	public List<String> onTabComplete(CommandInfo commandInfo)
+	private Command<?> rateLimited(CommandSender sender, List<String> args, boolean completion)
 	{
-		List<String> completions = Lists.newArrayList();
-
-		if(commandInfo.numArgs() == 0)
+		if(!(sender instanceof Entity))
+			return null;
+
+		UUID uuid = null;
+		// Limiters already charged: a limiter shared along the route is charged once
+		RateLimiter[] charged = null;
+		int chargedCount = 0;
+		// The last argument of a completion is still being typed
+		int routed = completion ? args.size() - 1 : args.size();
+		int index = 0;
+		Command<?> command = this;
+		while(command != null)
 		{
-			for(Map.Entry<String,Command<?>> entry : this.subCommands.entrySet())
+			RateLimiter limiter = completion ? command.tabCompleteLimiter : command.executeLimiter;
+			if(limiter != null && !contains(charged, chargedCount, limiter))
 			{
-				String commandName = entry.getKey();
-				completions.add(commandName);
-			}
+				if(uuid == null) uuid = ((Entity) sender).getUniqueId();
+				if(!limiter.tryAcquire(uuid)) return command;
 
-			if(this.arguments.size()>0)
-				completions = this.arguments.get(0).getType().tabComplete(commandInfo);
-		}
-		else
-		{
-			for(Map.Entry<String,Command<?>> entry : this.subCommands.entrySet())
-			{
-				if(entry.getKey().toLowerCase().startsWith(commandInfo.getLastArg().toLowerCase()))
-				{
-					String commandName = entry.getKey();
-					completions.add(commandName);
-				}
+				if(charged == null) charged = new RateLimiter[4];
+				else if(chargedCount == charged.length) charged = Arrays.copyOf(charged, chargedCount * 2);
+				charged[chargedCount++] = limiter;
 			}
 
-			if(this.arguments.size()>=commandInfo.numArgs())
-				completions= this.arguments.get(commandInfo.numArgs() - 1).getType().tabComplete(commandInfo);
-		}
-
-		if(completions != null && completions.size() > 0)
-			Collections.sort(completions, String.CASE_INSENSITIVE_ORDER);
+			// Next sub command, skipping the empty arguments
+			while(index < routed && args.get(index).isEmpty()) index++;
+			command = index < routed ? command.getSubCommand(args.get(index++)) : null;
 
-		return completions;
+			// A sub command overriding execute checks its own limits when executed
+			if(command != null && !completion && overridesExecute(command))
+				break;
+		}
+		return null;
 	}
 
 	/**
-	 * Called when sender does not have necessary permissions.
-	 * Override this method in your command
-	 *
-	 * @param sender Source object which is executing this command
+	 * @return true if the class of the command overrides one of the execute methods
 	 */
-	public void onPermissionRefused(CommandSender sender)
+	private static boolean overridesExecute(Command<?> command)
 	{
-		if(this.getPermissionMessage()!=null && this.getPermissionMessage().isEmpty()==false)
+		return EXECUTE_OVERRIDDEN.get(command.getClass()) || EXECUTE_LINE_OVERRIDDEN.get(command.getClass());
+	}
+
+	private static boolean contains(RateLimiter[] limiters, int count, RateLimiter limiter)
+	{
+		for(int i = 0; i < count; i++)
 		{
-			for (String line : this.getPermissionMessage().replace("<permission>", this.getPermission()).split("\n")) {
-				new ErrorMessage(line).send(sender);
-			}
+			if(limiters[i] == limiter)
+				return true;
 		}
-		else
-			new WarnPermissionMessage().send(sender);
+		return false;
 	}
 
-	public void onCommandHelp(CommandErrorType error, CommandInfo commandInfo)
+	private boolean execute(CommandSender sender, String commandLabel, CommandLine args, CommandInvocation invocation)
 	{
-		boolean isMainCommand = this.parentCommand == null;
-		boolean isSubCommand = this.parentCommand != null;
+		if(invocation.metrics == null)
+			return dispatch(sender, commandLabel, args, invocation);
 
-		// Display help for the main command
-		if(isMainCommand==true)
+		try
 		{
-			// Send Usage Message
-			new MessageHelp(error, commandInfo).build().send(commandInfo.getSenders());
+			return dispatch(sender, commandLabel, args, invocation);
 		}
-
-		// Display help of sub command
-		else if(isSubCommand==true)
+		catch(RuntimeException ex)
 		{
-			// Send Usage Message
-			new MessageHelp(error, commandInfo).build().send(commandInfo.getSenders());
+			if(invocation.outcome != CommandOutcome.EXCEPTION)
+				invocation.end(invocation.command != null ? invocation.command : this, CommandOutcome.EXCEPTION);
+			throw ex;
 		}
-	}
-
-	private String[] reArgs(String[] args)
-	{
-		List<String> newArgs = new ArrayList<>();
-
-		for(int i = 0; i < args.length; i++)
+		finally
 		{
-			String arg = args[i];
-
-			if(arg.startsWith("\"") && arg.endsWith("\""))
-			{
-				newArgs.add(arg.substring(1, arg.length() - 1));
-			}
-			else if(arg.startsWith("\""))
-			{
-				String tempArg = arg.substring(1);
-				int j;
-
-				for(j = i + 1; j < args.length; j++)
-				{
-					arg = args[j];
-					if(arg.endsWith("\""))
-					{
-						tempArg += " ";
-						tempArg += arg.substring(0, arg.length() - 1);
-						break;
-					}
-					else
-					{
-						tempArg += " ";
-						tempArg += arg;
-					}
-				}
-
-				newArgs.add(tempArg);
-				i = j;
-			}
-			else if(arg.startsWith("'") && arg.endsWith("'"))
-			{
-				newArgs.add(arg.substring(1, arg.length() - 1));
-			}
-			else if(arg.startsWith("'"))
-			{
-				String tempArg = arg.substring(1);
-				int j;
-
-				for(j = i + 1; j < args.length; j++)
-				{
-					arg = args[j];
-					if(arg.endsWith("'"))
-					{
-						tempArg += " ";
-						tempArg += arg.substring(0, arg.length() - 1);
-						break;
-					}
-					else
-					{
-						tempArg += " ";
-						tempArg += arg;
-					}
-				}
-
-				newArgs.add(tempArg);
-				i = j;
-			}
-			else
-				newArgs.add(arg);
+			invocation.record();
 		}
-
-		return newArgs.toArray(new String[newArgs.size()]);
 	}
 
-	/**
-	 * Executes the command, returning its success
-	 *
-	 * @param sender       Source object which is executing this command
-	 * @param commandLabel The alias of the command used
-	 * @param args         All arguments passed to the command, split via ' '
-	 *
-	 * @return true if the command was successful, otherwise false
-	 */
-	@Override
-	public boolean execute(CommandSender sender, String commandLabel, String[] args)
+	private boolean dispatch(CommandSender sender, String commandLabel, CommandLine args, CommandInvocation invocation)
 	{
-		// Reorganise args when detecting string " or '
-		args  = reArgs(args);
-
 		boolean success = false;
-		int minArgs = getMinArgs(sender);
+		CommandSnapshot snapshot = snapshot();
+		int minArgs = snapshot.getMinArgs(sender);
 
 		if(!this.plugin.isEnabled())
 			return false;
 
-		// Remove unnecessary arg
-		if(args.length>0 && args[0].equals(""))
-			args = Arrays.copyOfRange(args, 1, args.length);
+		// Command line exceeding the limits
+		if(args.isOverflow())
+		{
+			// Check permissions
+			if(!checkPermission(sender, invocation))
+				return false;
+
+			return help(CommandErrorType.TOO_MANY_ARGUMENTS, sender, commandLabel, args, invocation, null);
+		}
 
 		// Not enough parameters for the command
-		if(args.length == 0 && minArgs > 0)
+		if(args.size() == 0 && minArgs > 0)
 		{
 			// Check permissions
-			if(!testPermissionSilent(sender))
-			{
-				this.onPermissionRefused(sender);
+			if(!checkPermission(sender, invocation))
 				return false;
-			}
 
 			// Help command
-			this.onCommandHelp(CommandErrorType.NOT_ENOUGH_ARGUMENTS, new CommandInfo(sender, this, commandLabel, args, null));
-			return false;
+			return help(CommandErrorType.NOT_ENOUGH_ARGUMENTS, sender, commandLabel, args, invocation, null);
 		}
 		// Main command call
-		else if(args.length == 0 && minArgs == 0)
+		else if(args.size() == 0 && minArgs == 0)
 		{
 			// Check permissions
-			if(!testPermissionSilent(sender))
-			{
-				this.onPermissionRefused(sender);
+			if(!checkPermission(sender, invocation))
 				return false;
-			}
 
 			// Get mandatory arguments with default values:
 			Map<String,String> namedArgs = new LinkedHashMap<String,String>();
+			Map<String,Object> values = new LinkedHashMap<String,Object>();
 			// Loop through attended args
-			int index = 0;
-			for(CommandArgument<?> argument : this.arguments)
+			for(CommandArgument<?> argument : snapshot.argumentArray)
 			{
 				String argName = argument.getName();
 
 				if(argument.isMandatory() && argument.hasDefaultValue())
+				{
 					namedArgs.put(argName, argument.getDefaultValue().toString());
+					values.put(argName, argument.getDefaultValue());
+				}
 			}
 
 
 			// Execute the command
-			try
-			{
-				success = this.onCommand(new CommandInfo(sender, this, commandLabel, args, namedArgs));
-			}
-			catch(Throwable ex)
-			{
-				throw new CommandException("Unhandled exception executing command '" + commandLabel + "' in plugin " + this.plugin.getDescription().getFullName(), ex);
-			}
+			success = this.handle(new CommandInfo(sender, this, commandLabel, args, namedArgs, values), invocation);
 		}
 		// With multiple args it could be a SubCommand or the main command
-		else if(args.length > 0)
+		else if(args.size() > 0)
 		{
 			// Sub or Base ???
 			// First we check if the first arg correspond to a Sub command
-			String firstArg = args[0].toLowerCase();
+			String firstArg = args.get(0).toLowerCase();
 			// Check if a sub command exist for this arg
-			Command<?> subCommand = getSubCommand(firstArg);
+			Command<?> subCommand = snapshot.getSubCommand(firstArg);
 			// If yes, this a sub command
 			if(subCommand != null)
 			{
-				String[] subArgs = Arrays.copyOfRange(args, 1, args.length);
-				return subCommand.execute(sender,firstArg, subArgs);
+				// A sub command overriding execute is executed through it, as its own invocation
+				if(EXECUTE_LINE_OVERRIDDEN.get(subCommand.getClass()))
+					return subCommand.execute(sender, firstArg, args.subLine(1));
+				if(EXECUTE_OVERRIDDEN.get(subCommand.getClass()))
+					return subCommand.execute(sender, firstArg, args.subLine(1).toArgs());
+				return subCommand.dispatch(sender, firstArg, args.subLine(1), invocation);
 			}
 			// Else, it could be the command with args
 			else
 			{
 				// Check permissions
-				if(!testPermissionSilent(sender))
-				{
-					this.onPermissionRefused(sender);
+				if(!checkPermission(sender, invocation))
 					return false;
-				}
 
 				// Check that the numbers of arguments correspond
 				// if not, show the help command
-				if(args.length < getMinArgs(sender))
+				if(args.size() < minArgs)
 				{
-					this.onCommandHelp(CommandErrorType.NOT_ENOUGH_ARGUMENTS, new CommandInfo(sender, this, commandLabel, args, null));
-					return false;
+					return help(CommandErrorType.NOT_ENOUGH_ARGUMENTS, sender, commandLabel, args, invocation, null);
 				}
-				if(args.length > (getMaxArgs() == -1 ? args.length : getMaxArgs()))
+				if(args.size() > snapshot.getMaxArgs())
 				{
-					this.onCommandHelp(CommandErrorType.TOO_MANY_ARGUMENTS, new CommandInfo(sender, this, commandLabel, args, null));
-					return false;
+					return help(CommandErrorType.TOO_MANY_ARGUMENTS, sender, commandLabel, args, invocation, suggest(args, 0, null, null));
 				}
 
 				// Now that the number of arguments correspond, we need to check the validity of each args
@@ -604,29 +1200,36 @@ public abstract class Command<PluginClass extends JavaPlugin> extends org.bukkit
 				// Don't forget the rule :
 				// 		You can't add a mandatory argument after an optional argument
 				Map<String,String> namedArgs = new LinkedHashMap<String,String>();
+				Map<String,Object> values = new LinkedHashMap<String,Object>();
 
 				// Loop through attended args
+				// Each value is parsed once, the parsed value is kept in the CommandInfo
 				int index = 0;
-				for(CommandArgument<?> argument : this.arguments)
+				// First optional argument that failed to parse
+				CommandArgument<?> failedArgument = null;
+				String failedValue = null;
+				int failedIndex = 0;
+				for(CommandArgument<?> argument : snapshot.argumentArray)
 				{
 					String argName = argument.getName();
 					String value = argument.isCollection() ? getStringListArg(index, args) : getStringArg(index, args);
+					Object parsed = parseArg(argument, value);
 
 					// If mandatory, the argument MUST correspond
 					if(argument.isMandatory(sender))
 					{
 						// Check the string
-						if(argument.getType().check(value))
+						if(parsed != null)
 						{
 							namedArgs.put(argName, value);
+							values.put(argName, parsed);
 
 							index++;
 							continue;
 						}
 						else
 						{
-							this.onCommandHelp(CommandErrorType.MISMATCH_ARGUMENTS, new CommandInfo(sender, this, commandLabel, args, null));
-							return false;
+							return help(CommandErrorType.MISMATCH_ARGUMENTS, sender, commandLabel, args, invocation, suggest(args, index, argument, value));
 						}
 					}
 
@@ -634,16 +1237,24 @@ public abstract class Command<PluginClass extends JavaPlugin> extends org.bukkit
 					else if(argument.isOptional(sender))
 					{
 						// Check the string
-						if(argument.getType().check(value))
+						if(parsed != null)
 						{
 							namedArgs.put(argName, value);
+							values.put(argName, parsed);
 
 							index++;
 							continue;
 						}
-						else if(argument.hasDefaultValue() && argument.getType().check(argument.getDefaultValue().toString()))
+						if(value != null && failedArgument == null)
+						{
+							failedArgument = argument;
+							failedValue = value;
+							failedIndex = index;
+						}
+						if(argument.hasDefaultValue())
 						{
 							namedArgs.put(argName, argument.getDefaultValue().toString());
+							values.put(argName, argument.getDefaultValue());
 
 							continue;
 						}
@@ -651,25 +1262,150 @@ public abstract class Command<PluginClass extends JavaPlugin> extends org.bukkit
 				}
 
 				// We have reach the ends of possible arguments but some args are still in the queue
-				if(index < args.length && this.hasCollection == false)
+				if(index < args.size() && snapshot.hasCollection == false)
 				{
-					this.onCommandHelp(CommandErrorType.MISMATCH_ARGUMENTS, new CommandInfo(sender, this, commandLabel, args, null));
-					return false;
+					return help(CommandErrorType.MISMATCH_ARGUMENTS, sender, commandLabel, args, invocation, suggest(args, failedArgument != null ? failedIndex : index, failedArgument, failedValue));
 				}
 
 				// Finally, execute the command
+				success = this.handle(new CommandInfo(sender, this, commandLabel, args, namedArgs, values), invocation);
+			}
+		}
+
+		return success;
+	}
+
+	/**
+	 * Check the permission of the sender, and call {@link #onPermissionRefused(CommandSender)} if refused
+	 *
+	 * @return true if the sender has the permission
+	 */
+	private boolean checkPermission(CommandSender sender, CommandInvocation invocation)
+	{
+		long start = invocation.time();
+		boolean allowed = testPermissionSilent(sender);
+		invocation.permissionNanos += invocation.time() - start;
+
+		if(!allowed)
+		{
+			invocation.end(this, CommandOutcome.PERMISSION_REFUSED);
+			if(!invocation.quiet)
+				this.onPermissionRefused(sender);
+		}
+		return allowed;
+	}
+
+	/**
+	 * Display the help of the command, unless the invocation is quiet
+	 *
+	 * @return false
+	 */
+	private boolean help(CommandErrorType error, CommandSender sender, String commandLabel, CommandLine args, CommandInvocation invocation, String suggestion)
+	{
+		if(!invocation.quiet)
+		{
+			CommandInfo commandInfo = new CommandInfo(sender, this, commandLabel, args, null);
+			commandInfo.setSuggestion(suggestion);
+			this.onCommandHelp(error, commandInfo);
+		}
+		return invocation.end(this, CommandOutcome.of(error));
+	}
+
+	/**
+	 * Find the closest valid value to a misspelled sub command or argument.
+	 *
+	 * A misspelled first argument is first compared to the names and aliases of the sub commands,
+	 * then to the values of the argument if its type implements {@link SuggestArgType}.
+	 *
+	 * @param args     Arguments passed to the command
+	 * @param index    Index of the argument that failed to parse
+	 * @param argument The argument that failed to parse, or null
+	 * @param value    The value that failed to parse, or null
+	 *
+	 * @return The suggestion, or null
+	 */
+	public String suggest(CommandLine args, int index, CommandArgument<?> argument, String value)
+	{
+		if(index == 0 && args.size() > 0)
+		{
+			String suggestion = snapshot().subCommandSuggestions().suggest(args.get(0));
+			if(suggestion != null) return suggestion;
+		}
+
+		if(argument != null && value != null && argument.getType() instanceof SuggestArgType)
+			return ((SuggestArgType) argument.getType()).suggest(value);
+
+		return null;
+	}
+
+	/**
+	 * Call {@link #onCommand(CommandInfo)}, on the main thread or asynchronously
+	 *
+	 * @return The success of the command, true if the command is asynchronous
+	 */
+	private boolean handle(CommandInfo commandInfo, CommandInvocation invocation)
+	{
+		String commandLabel = commandInfo.getLabel();
+		invocation.command = this;
+
+		if(!this.async)
+		{
+			CommandWatchdog commandWatchdog = getWatchdog();
+			CommandWatchdog.Watch watch = commandWatchdog != null ? commandWatchdog.begin(commandInfo) : null;
+			invocation.handlerStart = invocation.time();
+			invocation.handled = true;
+			try
+			{
+				boolean success = this.onCommand(commandInfo);
+				return invocation.end(this, success ? CommandOutcome.SUCCESS : CommandOutcome.FAILURE);
+			}
+			catch(Throwable ex)
+			{
+				invocation.end(this, CommandOutcome.EXCEPTION);
+				throw executeException(commandLabel, ex);
+			}
+			finally
+			{
+				if(watch != null)
+					commandWatchdog.end(watch);
+			}
+		}
+
+		CompletableFuture<Boolean> future = new CompletableFuture<>();
+		invocation.future = future;
+		invocation.handlerStart = invocation.time();
+		invocation.handled = true;
+		try
+		{
+			CommandThreads.getWorkers().execute(() -> {
+				long handlerStart = invocation.time();
 				try
 				{
-					success = this.onCommand(new CommandInfo(sender, this, commandLabel, args, namedArgs));
+					boolean success = this.onCommand(commandInfo);
+					invocation.recordAsync(success ? CommandOutcome.SUCCESS : CommandOutcome.FAILURE, handlerStart);
+					future.complete(success);
 				}
 				catch(Throwable ex)
 				{
-					throw new CommandException("Unhandled exception executing command '" + commandLabel + "' in plugin " + this.plugin.getDescription().getFullName(), ex);
+					invocation.recordAsync(CommandOutcome.EXCEPTION, handlerStart);
+					CommandException exception = executeException(commandLabel, ex);
+					this.plugin.getLogger().log(Level.SEVERE, exception.getMessage(), ex);
+					future.completeExceptionally(exception);
 				}
-			}
+			});
 		}
+		catch(RejectedExecutionException ex)
+		{
+			invocation.future = null;
+			invocation.end(this, CommandOutcome.EXCEPTION);
+			throw executeException(commandLabel, ex);
+		}
+		return invocation.end(this, CommandOutcome.SUCCESS);
+	}
 
-		return success;
+	private CommandException executeException(String commandLabel, Throwable ex)
+	{
+		return new CommandException("Unhandled exception executing command '" + commandLabel + "' in plugin " + this.plugin.getDescription().getFullName(), ex);
 	}
 
     /**
@@ -697,25 +1433,56 @@ public abstract class Command<PluginClass extends JavaPlugin> extends org.bukkit
 		Validate.notNull(args, "Arguments cannot be null");
 		Validate.notNull(alias, "Alias cannot be null");
 
-		//
-		if(args.length > 0 && args[0].equals(""))
-			args = Arrays.copyOfRange(args, 1, args.length);
+		// Reject the senders over the limit before tokenizing
+		if(rateLimited(sender, Arrays.asList(args), true) != null)
+			return new ArrayList<String>();
+
+		// Tokenize args once, keeping the empty token being typed
+		CommandInvocation invocation = new CommandInvocation(getMetrics());
+		return tabComplete(sender, alias, CommandLine.parse(args, true), invocation);
+	}
+
+	/**
+	 * Requests a list of possible completions for a tokenized command line.
+	 *
+	 * @param sender Source object which is executing this command
+	 * @param alias  The alias being used
+	 * @param args   Tokenized arguments passed to the command
+	 *
+	 * @return A list of tab-completions for the specified arguments
+	 *
+	 * @throws CommandException if the completer throw an exception during the process of tab-completing.
+	 */
+	public List<String> tabComplete(CommandSender sender, String alias, CommandLine args)
+	throws CommandException
+	{
+		if(rateLimited(sender, args.asList(), true) != null)
+			return new ArrayList<String>();
+
+		return tabComplete(sender, alias, args, new CommandInvocation(getMetrics()));
+	}
+
+	private List<String> tabComplete(CommandSender sender, String alias, CommandLine args, CommandInvocation invocation)
+	{
+		// Command line exceeding the limits
+		if(args.isOverflow())
+			return new ArrayList<String>();
 
 		List<String> completions = null;
 		try
 		{
-			if(args.length>0)
+			if(args.size()>0)
 			{
 				// Sub or Base ???
 				// First we check if the first arg correspond to a Sub command
-				String firstArg = args[0].toLowerCase();
+				String firstArg = args.get(0);
 				// Check if a sub command exist for this arg
 				Command<?> subCommand = getSubCommand(firstArg);
 				// If yes, this a sub command
 				if(subCommand != null)
 				{
-					String[] subArgs = Arrays.copyOfRange(args, 1, args.length);
-					if(subArgs.length > 0) return subCommand.tabComplete(sender, alias, subArgs);
+					CommandLine subArgs = args.subLine(1);
+					if(subArgs.size() > 0) return subCommand.tabComplete(sender, alias, subArgs, invocation);
 				}
 			}
 
@@ -723,14 +1490,115 @@ public abstract class Command<PluginClass extends JavaPlugin> extends org.bukkit
 		}
 		catch(Throwable ex)
 		{
-			StringBuilder message = new StringBuilder();
-			message.append("Unhandled exception during tab completion for command '/").append(alias).append(' ');
-			for(String arg : args)
-				message.append(arg).append(' ');
-			message.deleteCharAt(message.length() - 1).append("' in plugin ").append(plugin.getDescription().getFullName());
-			throw new CommandException(message.toString(), ex);
+			throw tabCompleteException(alias, args, ex);
+		}
+		finally
+		{
+			invocation.recordCompletion(this);
+		}
+
+		return completions;
+	}
+
+	/**
+	 * Requests a list of possible completions for a command argument, off the main thread.
+	 *
+	 * If the command does not allow asynchronous tab completion, the completions are computed
+	 * synchronously, as with {@link #tabComplete(CommandSender, String, String[])}.
+	 * Otherwise, the command line is tokenized and routed on a worker thread
+	 * ({@link CommandThreads#getWorkers()}). The completion itself is done on the worker thread if the
+	 * completed command allows it and if the completed argument type does not implement
+	 * {@link MainThreadArgType}, on the main thread otherwise.
+	 *
+	 * @param sender Source object which is executing this command
+	 * @param alias  The alias being used
+	 * @param args   All arguments passed to the command, split via ' '
+	 *
+	 * @return A future list of tab-completions for the specified arguments, completed exceptionally
+	 *         with a {@link CommandException} if the completer throw an exception
+	 */
+	public CompletableFuture<List<String>> tabCompleteAsync(CommandSender sender, String alias, String[] args)
+	{
+		Validate.notNull(sender, "Sender cannot be null");
+		Validate.notNull(args, "Arguments cannot be null");
+		Validate.notNull(alias, "Alias cannot be null");
+
+		// Sync fallback
+		if(!this.asyncTabComplete)
+		{
+			try
+			{
+				return CompletableFuture.completedFuture(tabComplete(sender, alias, args));
+			}
+			catch(CommandException ex)
+			{
+				CompletableFuture<List<String>> failed = new CompletableFuture<>();
+				failed.completeExceptionally(ex);
+				return failed;
+			}
+		}
+
+		// Reject the senders over the limit before tokenizing
+		if(rateLimited(sender, Arrays.asList(args), true) != null)
+			return CompletableFuture.completedFuture(new ArrayList<String>());
+
+		CommandInvocation invocation = new CommandInvocation(getMetrics());
+		return CompletableFuture.supplyAsync(() -> CommandLine.parse(args, true), CommandThreads.getWorkers())
+								.thenCompose(line -> tabCompleteAsync(sender, alias, line, invocation));
+	}
+
+	private CompletableFuture<List<String>> tabCompleteAsync(CommandSender sender, String alias, CommandLine args, CommandInvocation invocation)
+	{
+		// Command line exceeding the limits
+		if(args.isOverflow())
+			return CompletableFuture.completedFuture(new ArrayList<String>());
+
+		// Route to the sub command
+		if(args.size()>0)
+		{
+			Command<?> subCommand = getSubCommand(args.get(0));
+			if(subCommand != null)
+			{
+				CommandLine subArgs = args.subLine(1);
+				if(subArgs.size() > 0) return subCommand.tabCompleteAsync(sender, alias, subArgs, invocation);
+			}
+		}
+
+		CommandInfo commandInfo = new CommandInfo(sender, this, alias, args, null);
+		CommandArgument<?> argument = getCompletedArgument(commandInfo);
+		CompletableFuture<List<String>> completions = new CompletableFuture<>();
+		completions.whenComplete((result, ex) -> invocation.recordCompletion(this));
+
+		// Complete on the worker thread
+		if(this.asyncTabComplete && (argument == null || !(argument.getType() instanceof MainThreadArgType)))
+		{
+			try
+			{
+				completions.complete(this.onTabComplete(commandInfo));
+			}
+			catch(Throwable ex)
+			{
+				completions.completeExceptionally(tabCompleteException(alias, args, ex));
+			}
+			return completions;
 		}
 
+		// Complete on the main thread
+		CommandThreads.callSync(this.plugin, () -> this.onTabComplete(commandInfo)).whenComplete((result, ex) -> {
+			if(ex == null)
+				completions.complete(result);
+			else
+				completions.completeExceptionally(tabCompleteException(alias, args, ex));
+		});
 		return completions;
 	}
-}
\ No newline at end of file
+
+	private CommandException tabCompleteException(String alias, CommandLine args, Throwable ex)
+	{
+		StringBuilder message = new StringBuilder();
+		message.append("Unhandled exception during tab completion for command '/").append(alias).append(' ');
+		message.append(args.join(0));
+		message.append("' in plugin ").append(plugin.getDescription().getFullName());
+		return new CommandException(message.toString(), ex);
+	}
+}
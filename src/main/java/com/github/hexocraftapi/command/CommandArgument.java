@@ -19,7 +19,7 @@ package com.github.hexocraftapi.command;
 import com.github.hexocraftapi.chat.MessageBuilder;
 import com.github.hexocraftapi.chat.event.HoverEvent;
 import com.github.hexocraftapi.command.type.ArgType;
-import com.github.hexocraftapi.command.type.ArgTypeStringList;
+import com.github.hexocraftapi.command.type.ArgTypeList;
 import com.github.hexocraftapi.message.Sentence;
 import com.github.hexocraftapi.message.locale.Locale;
 import com.github.hexocraftapi.message.predifined.MessageColor;
@@ -166,8 +166,8 @@ public class CommandArgument<T>
 	 */
 	public boolean isCollection()
 	{
-		// Only ArgTypeStringList class is supported
-		return this.type instanceof ArgTypeStringList;
+		// A list separated by spaces spans the remaining words
+		return this.type instanceof ArgTypeList && ((ArgTypeList<?>) this.type).getSeparator() == ' ';
 	}
 
 	/**
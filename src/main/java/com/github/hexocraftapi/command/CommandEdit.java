@@ -0,0 +1,167 @@
+package com.github.hexocraftapi.command;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A batch of changes applied to a command as a single new version.
+ *
+ * The changes are recorded, then applied by {@link #commit()} on a copy of the sub commands
+ * and the arguments. The copy is published at once: readers see either all the changes or none,
+ * and never block. If a change is invalid, nothing is published.
+ *
+ * <pre>
+ * command.edit()
+ *        .removeSubCommand("arena1")
+ *        .addSubCommand(new CommandArena(plugin, "arena2"))
+ *        .commit();
+ * </pre>
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public final class CommandEdit
+{
+	/**
+	 * A change applied to the copies of the sub commands and the arguments
+	 */
+	interface Change
+	{
+		void apply(Map<String, Command<?>> subCommands, List<CommandArgument<?>> arguments);
+	}
+
+	private final Command<?> command;
+	private final List<Change> changes = new ArrayList<Change>();
+
+	CommandEdit(Command<?> command)
+	{
+		this.command = command;
+	}
+
+	/**
+	 * @param subCommand Sub command to add, replacing the sub command with the same name
+	 *
+	 * @return this
+	 */
+	public CommandEdit addSubCommand(final Command<?> subCommand)
+	{
+		changes.add((subCommands, arguments) -> subCommands.put(subCommand.getName(), subCommand));
+		return this;
+	}
+
+	/**
+	 * @param name Name or alias of the sub command to remove (case insensitive)
+	 *
+	 * @return this
+	 */
+	public CommandEdit removeSubCommand(final String name)
+	{
+		changes.add((subCommands, arguments) -> {
+			for(Iterator<Map.Entry<String, Command<?>>> it = subCommands.entrySet().iterator(); it.hasNext(); )
+			{
+				Map.Entry<String, Command<?>> entry = it.next();
+				if(entry.getKey().equalsIgnoreCase(name) || hasAlias(entry.getValue(), name))
+				{
+					it.remove();
+					return;
+				}
+			}
+		});
+		return this;
+	}
+
+	/**
+	 * @param subCommand Sub command to remove
+	 *
+	 * @return this
+	 */
+	public CommandEdit removeSubCommand(final Command<?> subCommand)
+	{
+		changes.add((subCommands, arguments) -> subCommands.values().removeIf(command -> command == subCommand));
+		return this;
+	}
+
+	/**
+	 * @param argument Argument to add
+	 *
+	 * @return this
+	 */
+	public CommandEdit addArgument(final CommandArgument<?> argument)
+	{
+		changes.add((subCommands, arguments) -> {
+			// Can't add a mandatory argument after an optional argument
+			if(	(argument.isMandatory() || argument.isMandatoryForConsole())
+				&& arguments.size()>0
+				&& arguments.get(arguments.size()-1).isOptional())
+				throw new IllegalArgumentException("You can't add mandatory argument after an optional argument.");
+
+			// Can't add an argument after an argument implement a collection
+			if(	arguments.size()>0
+				&& arguments.get(arguments.size()-1).isCollection())
+				throw new IllegalArgumentException("You can't add argument after a hasCollection.");
+
+			arguments.add(argument);
+		});
+		return this;
+	}
+
+	/**
+	 * @param name Name of the argument to remove (case insensitive)
+	 *
+	 * @return this
+	 */
+	public CommandEdit removeArgument(final String name)
+	{
+		changes.add((subCommands, arguments) -> {
+			for(Iterator<CommandArgument<?>> it = arguments.iterator(); it.hasNext(); )
+			{
+				if(it.next().getName().equalsIgnoreCase(name))
+				{
+					it.remove();
+					return;
+				}
+			}
+		});
+		return this;
+	}
+
+	/**
+	 * Apply the changes and publish them as a single new version of the command
+	 *
+	 * @return The command
+	 *
+	 * @throws IllegalArgumentException if a change is invalid, in which case no change is published
+	 */
+	public Command<?> commit()
+	{
+		return command.commit(changes);
+	}
+
+	private static boolean hasAlias(Command<?> command, String name)
+	{
+		if(command.getAliases() == null) return false;
+		for(String alias : command.getAliases())
+		{
+			if(alias.equalsIgnoreCase(name))
+				return true;
+		}
+		return false;
+	}
+}
@@ -25,6 +25,9 @@ import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
 
 /**
  * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
@@ -35,9 +38,12 @@ public class CommandInfo
     private final CommandSender sender;
     private final Player player;
     private final String commandName;
+    private final String label;
     private final Command<?> command;
     private List<String> args;
     private Map<String,String> namedArgs = new LinkedHashMap<String,String>();
+    private Map<String,Object> values = new LinkedHashMap<String,Object>();
+    private String suggestion = null;
 
 
     /**
@@ -49,6 +55,39 @@ public class CommandInfo
      * @param namedArgs List of argument by name.
      */
     public CommandInfo(CommandSender sender, Command<?> command, String label, String[] args, Map<String,String> namedArgs)
+    {
+        this(sender, command, label, new ArrayList<String>(Arrays.asList(args)), namedArgs);
+    }
+
+    /**
+     * Create a new CommandInfo representing one commandName invocation.
+     * @param sender The CommandSender who invoked this (can be a console)
+     * @param command The Command we're executing.
+     * @param label The alias of the command used
+     * @param args The tokenized commandName arguments. They are not copied.
+     * @param namedArgs List of argument by name.
+     */
+    public CommandInfo(CommandSender sender, Command<?> command, String label, CommandLine args, Map<String,String> namedArgs)
+    {
+        this(sender, command, label, args.asList(), namedArgs);
+    }
+
+    /**
+     * Create a new CommandInfo representing one commandName invocation.
+     * @param sender The CommandSender who invoked this (can be a console)
+     * @param command The Command we're executing.
+     * @param label The alias of the command used
+     * @param args The tokenized commandName arguments. They are not copied.
+     * @param namedArgs List of argument by name.
+     * @param values Parsed value of the arguments by name.
+     */
+    CommandInfo(CommandSender sender, Command<?> command, String label, CommandLine args, Map<String,String> namedArgs, Map<String,Object> values)
+    {
+        this(sender, command, label, args.asList(), namedArgs);
+        if(values != null) this.values = values;
+    }
+
+    private CommandInfo(CommandSender sender, Command<?> command, String label, List<String> args, Map<String,String> namedArgs)
     {
         Validate.notNull(sender);
         Validate.notNull(command);
@@ -59,7 +98,8 @@ public class CommandInfo
         this.player = player;
         this.command = command;
         this.commandName = command.getName();
-        this.args = new ArrayList<String>(Arrays.asList(args));
+        this.label = label;
+        this.args = args;
         this.namedArgs = namedArgs;
     }
 
@@ -98,6 +138,14 @@ public class CommandInfo
         return commandName;
     }
 
+    /**
+     * Get the alias of the command used.
+     * @return The label.
+     */
+    public String getLabel() {
+        return label;
+    }
+
     /**
      * Get the Command that invoked this call.
      * @return a Command.
@@ -116,9 +164,12 @@ public class CommandInfo
 
     /**
      * Get the whole list of commandName arguments.
+     * The list is modifiable, the tokenized arguments being copied on the first call.
      * @return List of arguments.
      */
     public List<String> getArgs() {
+        if(!(this.args instanceof ArrayList))
+            this.args = new ArrayList<String>(this.args);
         return this.args;
     }
 
@@ -173,5 +224,78 @@ public class CommandInfo
         return namedArgs.get(name);
     }
 
-}
+    /**
+     * @param argument The argument
+     *
+     * @return true if a value has been parsed for the argument
+     */
+    public boolean hasArg(CommandArgument<?> argument)
+    {
+        return values.containsKey(argument.getName());
+    }
 
+    /**
+     * Get the value of an argument, as parsed by its {@link com.github.hexocraftapi.command.type.ArgType}
+     * when the command has been executed. The argument is never parsed again.
+     *
+     * @param argument The argument
+     *
+     * @return The value of the argument, its default value if it has not been specified, or null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getArg(CommandArgument<T> argument)
+    {
+        Object value = values.get(argument.getName());
+        return value != null ? (T) value : argument.getDefaultValue();
+    }
+
+    /**
+     * @param argument The argument
+     * @param value Parsed value of the argument
+     */
+    public <T> void setArg(CommandArgument<T> argument, T value)
+    {
+        values.put(argument.getName(), value);
+    }
+
+    /**
+     * Get the closest valid value to the argument or the sub command that failed, see {@link Command#suggest(CommandLine, int, CommandArgument, String)}.
+     * @return The suggestion, or null
+     */
+    public String getSuggestion() {
+        return suggestion;
+    }
+
+    /**
+     * @param suggestion The closest valid value to the argument or the sub command that failed
+     */
+    public void setSuggestion(String suggestion) {
+        this.suggestion = suggestion;
+    }
+
+    /**
+     * Run a task on the main server thread, typically from an asynchronous command.
+     * The task is run immediately if already on the main thread.
+     *
+     * @param task Task to run
+     *
+     * @return The future completion of the task
+     */
+    public CompletableFuture<Void> runSync(Runnable task)
+    {
+        return CommandThreads.callSync(command.getPlugin(), Executors.callable(task, (Void) null));
+    }
+
+    /**
+     * Call a task on the main server thread, typically from an asynchronous command.
+     * The task is called immediately if already on the main thread.
+     *
+     * @param task Task to call
+     *
+     * @return The future result of the task
+     */
+    public <T> CompletableFuture<T> callSync(Callable<T> task)
+    {
+        return CommandThreads.callSync(command.getPlugin(), task);
+    }
+}
@@ -0,0 +1,158 @@
+package com.github.hexocraftapi.command;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.metrics.CommandMetrics;
+import com.github.hexocraftapi.command.metrics.CommandOutcome;
+import com.github.hexocraftapi.command.metrics.CommandPhase;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * State of one command invocation, carried from the main command down to the executed sub command.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+final class CommandInvocation
+{
+	/**
+	 * Result of an asynchronous command, null if the command has been executed synchronously
+	 */
+	CompletableFuture<Boolean> future;
+
+	/**
+	 * Indicate that the help and permission messages are not sent
+	 */
+	boolean quiet;
+
+	/**
+	 * Metrics of the command tree, null if the tree is not measured
+	 */
+	final CommandMetrics metrics;
+
+	/**
+	 * Indicate that the latencies of this invocation are recorded
+	 */
+	final boolean sampled;
+
+	/**
+	 * Start of the invocation, before the tokenization
+	 */
+	final long start;
+
+	/**
+	 * Command reached by the invocation
+	 */
+	Command<?> command;
+
+	/**
+	 * Outcome of the invocation
+	 */
+	CommandOutcome outcome = CommandOutcome.FAILURE;
+
+	/**
+	 * Time spent checking permissions
+	 */
+	long permissionNanos;
+
+	/**
+	 * Start of the handler, only valid if handled is true
+	 */
+	long handlerStart;
+	boolean handled;
+
+	CommandInvocation(CommandMetrics metrics)
+	{
+		this.metrics = metrics;
+		this.sampled = metrics != null && metrics.sample();
+		this.start = this.sampled ? System.nanoTime() : 0L;
+	}
+
+	/**
+	 * @return The current time if the invocation is sampled, 0 otherwise
+	 */
+	long time()
+	{
+		return this.sampled ? System.nanoTime() : 0L;
+	}
+
+	/**
+	 * Set the outcome of the invocation
+	 *
+	 * @return true if the outcome is a success
+	 */
+	boolean end(Command<?> command, CommandOutcome outcome)
+	{
+		this.command = command;
+		this.outcome = outcome;
+		return outcome == CommandOutcome.SUCCESS;
+	}
+
+	/**
+	 * Record the invocation once dispatched.
+	 * The outcome and the handler latency of an asynchronous command are recorded by {@link #recordAsync(CommandOutcome, long)}.
+	 */
+	void record()
+	{
+		if(this.metrics == null || this.command == null) return;
+
+		boolean async = this.future != null;
+		if(!async)
+			this.metrics.recordExecution(this.command, this.outcome);
+
+		if(!this.sampled) return;
+
+		long end = System.nanoTime();
+		long parseEnd = this.handled ? this.handlerStart : end;
+		this.metrics.recordLatency(this.command, CommandPhase.PARSE, parseEnd - this.start - this.permissionNanos);
+		this.metrics.recordLatency(this.command, CommandPhase.PERMISSION, this.permissionNanos);
+		if(!async)
+		{
+			if(this.handled)
+				this.metrics.recordLatency(this.command, CommandPhase.HANDLER, end - this.handlerStart);
+			this.metrics.recordLatency(this.command, CommandPhase.TOTAL, end - this.start);
+		}
+	}
+
+	/**
+	 * Record the end of an asynchronous handler
+	 */
+	void recordAsync(CommandOutcome outcome, long handlerStart)
+	{
+		if(this.metrics == null) return;
+
+		this.metrics.recordExecution(this.command, outcome);
+
+		if(!this.sampled) return;
+
+		long end = System.nanoTime();
+		this.metrics.recordLatency(this.command, CommandPhase.HANDLER, end - handlerStart);
+		this.metrics.recordLatency(this.command, CommandPhase.TOTAL, end - this.start);
+	}
+
+	/**
+	 * Record a tab completion
+	 */
+	void recordCompletion(Command<?> command)
+	{
+		if(this.metrics == null) return;
+
+		this.metrics.recordCompletion(command);
+		if(this.sampled)
+			this.metrics.recordLatency(command, CommandPhase.COMPLETION, System.nanoTime() - this.start);
+	}
+}
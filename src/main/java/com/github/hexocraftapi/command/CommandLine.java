@@ -0,0 +1,428 @@
+package com.github.hexocraftapi.command;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Tokenized arguments of a command line.
+ *
+ * The arguments are tokenized once, in a single pass, when the command is received:
+ * <ul>
+ *     <li>tokens are separated by spaces; consecutive spaces are ignored, so unlike the
+ *     split of the server no empty token is produced between them</li>
+ *     <li>a token starting with " or ' runs until the same closing quote, the quotes
+ *     are removed; an unclosed quote runs until the end of the line</li>
+ *     <li>\ escapes a following quote, space or \ and is then removed; before any other
+ *     character it is kept as is, so paths like <code>C:\dir\file</code> are not altered</li>
+ * </ul>
+ * Each token records its offset in the raw line. Sub commands receive a view of
+ * the same tokens through {@link #subLine(int)}, nothing is copied.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public final class CommandLine
+{
+	/**
+	 * Maximum number of tokens of a command line.
+	 * Far above any real command, a space separated list included: it only bounds abuse.
+	 */
+	public static final int MAX_TOKENS = 4096;
+
+	/**
+	 * Maximum length of a token
+	 */
+	public static final int MAX_TOKEN_LENGTH = 1024;
+
+	/**
+	 * Maximum length of a raw command line
+	 */
+	public static final int MAX_LINE_LENGTH = 32767;
+
+	private static final CommandLine EMPTY = new CommandLine(new char[0], new int[0], new int[0], new int[0], 0, false, 0);
+
+	private final char[] chars;
+	private final int[] starts;
+	private final int[] ends;
+	private final int[] positions;
+	private final String[] tokens;
+	private final int count;
+	private final boolean overflow;
+	private final int offset;
+
+	private CommandLine(char[] chars, int[] starts, int[] ends, int[] positions, int count, boolean overflow, int offset)
+	{
+		this(chars, starts, ends, positions, new String[count], count, overflow, offset);
+	}
+
+	private CommandLine(char[] chars, int[] starts, int[] ends, int[] positions, String[] tokens, int count, boolean overflow, int offset)
+	{
+		this.chars = chars;
+		this.starts = starts;
+		this.ends = ends;
+		this.positions = positions;
+		this.tokens = tokens;
+		this.count = count;
+		this.overflow = overflow;
+		this.offset = offset;
+	}
+
+	/**
+	 * @return An empty command line
+	 */
+	public static CommandLine empty()
+	{
+		return EMPTY;
+	}
+
+	/**
+	 * @param tokens Tokens of the command line, kept as they are
+	 *
+	 * @return A command line of the specified tokens
+	 */
+	public static CommandLine of(String... tokens)
+	{
+		if(tokens.length == 0)
+			return EMPTY;
+
+		int length = tokens.length - 1;
+		for(String token : tokens)
+			length += token.length();
+
+		char[] chars = new char[length];
+		int[] starts = new int[tokens.length];
+		int[] ends = new int[tokens.length];
+		int size = 0;
+		for(int i = 0; i < tokens.length; i++)
+		{
+			if(i > 0) chars[size++] = ' ';
+			starts[i] = size;
+			tokens[i].getChars(0, tokens[i].length(), chars, size);
+			size += tokens[i].length();
+			ends[i] = size;
+		}
+		return new CommandLine(chars, starts, ends, starts, tokens.clone(), tokens.length, false, 0);
+	}
+
+	/**
+	 * Tokenize the arguments of a command, as split on ' ' by the server.
+	 *
+	 * @param args          Arguments passed to the command
+	 * @param trailingEmpty true to keep an empty token when the line ends with a space (used by tab completion)
+	 *
+	 * @return The tokenized command line
+	 */
+	public static CommandLine parse(String[] args, boolean trailingEmpty)
+	{
+		if(args == null || args.length == 0)
+			return EMPTY;
+
+		// Length of the raw line, arguments being separated by one space
+		long length = args.length - 1;
+		for(String arg : args)
+			length += arg.length();
+		if(length > MAX_LINE_LENGTH)
+			return new CommandLine(new char[0], new int[0], new int[0], new int[0], 0, true, 0);
+
+		int capacity = Math.min(MAX_TOKENS, (int) (length / 2) + 1);
+		char[] chars = new char[(int) length];
+		int[] starts = new int[capacity];
+		int[] ends = new int[capacity];
+		int[] positions = new int[capacity];
+		int count = 0;
+		int size = 0;
+		boolean overflow = false;
+
+		boolean inToken = false;
+		boolean escape = false;
+		boolean separator = false;
+		char quote = 0;
+		int position = 0;
+
+		scan:
+		for(int a = 0; a < args.length; a++)
+		{
+			String arg = args[a];
+			int argLength = arg.length();
+
+			// a == 0 : no separator before the first argument
+			for(int i = (a == 0 ? 0 : -1); i < argLength; i++, position++)
+			{
+				char c = i < 0 ? ' ' : arg.charAt(i);
+
+				if(c == ' ' && !escape && quote == 0)
+				{
+					// End of the current token
+					if(inToken)
+					{
+						ends[count++] = size;
+						inToken = false;
+					}
+					separator = true;
+					continue;
+				}
+				separator = false;
+
+				if(!inToken)
+				{
+					// Too many tokens
+					if(count == MAX_TOKENS)
+					{
+						overflow = true;
+						break scan;
+					}
+					if(count == starts.length)
+					{
+						int newCapacity = Math.min(MAX_TOKENS, count * 2);
+						starts = Arrays.copyOf(starts, newCapacity);
+						ends = Arrays.copyOf(ends, newCapacity);
+						positions = Arrays.copyOf(positions, newCapacity);
+					}
+					starts[count] = size;
+					positions[count] = position;
+					inToken = true;
+
+					// Opening quote
+					if(!escape && (c == '"' || c == '\''))
+					{
+						quote = c;
+						continue;
+					}
+				}
+
+				// \ only escapes a quote, a space or \, otherwise it is kept
+				boolean literal = false;
+				if(escape)
+				{
+					escape = false;
+					literal = c != '"' && c != '\'' && c != ' ' && c != '\\';
+				}
+				else if(c == '\\')
+				{
+					escape = true;
+					continue;
+				}
+				else if(quote != 0 && c == quote)
+				{
+					quote = 0;
+					continue;
+				}
+
+				// Token too long
+				if(size - starts[count] + (literal ? 2 : 1) > MAX_TOKEN_LENGTH)
+				{
+					overflow = true;
+					break scan;
+				}
+				if(literal)
+					chars[size++] = '\\';
+				chars[size++] = c;
+			}
+		}
+
+		if(!overflow)
+		{
+			// A trailing \ is kept as is
+			if(escape)
+				chars[size++] = '\\';
+
+			// Last token (an unclosed quote runs until the end of the line)
+			if(inToken)
+				ends[count++] = size;
+
+			// Empty token being typed
+			else if(trailingEmpty && separator && count < MAX_TOKENS)
+			{
+				if(count == starts.length)
+				{
+					starts = Arrays.copyOf(starts, count + 1);
+					ends = Arrays.copyOf(ends, count + 1);
+					positions = Arrays.copyOf(positions, count + 1);
+				}
+				starts[count] = size;
+				ends[count] = size;
+				positions[count] = position;
+				count++;
+			}
+		}
+
+		return new CommandLine(chars, starts, ends, positions, count, overflow, 0);
+	}
+
+	/**
+	 * @param from Index of the first token of the new view
+	 *
+	 * @return A view of this command line starting at the specified token
+	 */
+	public CommandLine subLine(int from)
+	{
+		if(from <= 0)
+			return this;
+		if(from >= size())
+			return new CommandLine(chars, starts, ends, positions, tokens, count, overflow, count);
+		return new CommandLine(chars, starts, ends, positions, tokens, count, overflow, offset + from);
+	}
+
+	/**
+	 * @return Number of tokens
+	 */
+	public int size()
+	{
+		return count - offset;
+	}
+
+	/**
+	 * @return true if there is no token
+	 */
+	public boolean isEmpty()
+	{
+		return size() == 0;
+	}
+
+	/**
+	 * @return true if the line has been truncated because it was exceeding
+	 *         {@link #MAX_LINE_LENGTH}, {@link #MAX_TOKENS} or {@link #MAX_TOKEN_LENGTH}
+	 */
+	public boolean isOverflow()
+	{
+		return overflow;
+	}
+
+	/**
+	 * @param index Index of the token
+	 *
+	 * @return The token
+	 */
+	public String get(int index)
+	{
+		if(index < 0 || index >= size())
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+
+		int i = offset + index;
+		String token = tokens[i];
+		if(token == null)
+			tokens[i] = token = new String(chars, starts[i], ends[i] - starts[i]);
+		return token;
+	}
+
+	/**
+	 * @param index Index of the token
+	 *
+	 * @return Offset of the token in the raw command line
+	 */
+	public int getPosition(int index)
+	{
+		if(index < 0 || index >= size())
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+
+		return positions[offset + index];
+	}
+
+	/**
+	 * @param from Index of the first token to join
+	 *
+	 * @return Tokens from the specified index joined by a space
+	 */
+	public String join(int from)
+	{
+		if(from >= size())
+			return "";
+		if(from == size() - 1)
+			return get(from);
+
+		int first = offset + Math.max(0, from);
+		StringBuilder builder = new StringBuilder(ends[count - 1] - starts[first] + count - first);
+		for(int i = first; i < count; i++)
+		{
+			if(i > first) builder.append(' ');
+			builder.append(chars, starts[i], ends[i] - starts[i]);
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * @return An unmodifiable list view of the tokens
+	 */
+	public List<String> asList()
+	{
+		return new Tokens();
+	}
+
+	/**
+	 * @return A copy of the tokens
+	 */
+	public String[] toArray()
+	{
+		String[] array = new String[size()];
+		for(int i = 0; i < array.length; i++)
+			array[i] = get(i);
+		return array;
+	}
+
+	/**
+	 * @return The tokens as arguments of a command, quoted when needed so that
+	 *         {@link #parse(String[], boolean)} gives back the same tokens
+	 */
+	public String[] toArgs()
+	{
+		String[] array = new String[size()];
+		for(int i = 0; i < array.length; i++)
+			array[i] = quote(get(i));
+		return array;
+	}
+
+	private static String quote(String token)
+	{
+		if(!token.isEmpty() && token.charAt(0) != '"' && token.charAt(0) != '\'' && token.indexOf(' ') < 0 && token.indexOf('\\') < 0)
+			return token;
+
+		StringBuilder builder = new StringBuilder(token.length() + 2).append('"');
+		for(int i = 0; i < token.length(); i++)
+		{
+			char c = token.charAt(i);
+			if(c == '"' || c == '\\')
+				builder.append('\\');
+			builder.append(c);
+		}
+		return builder.append('"').toString();
+	}
+
+	@Override
+	public String toString()
+	{
+		return join(0);
+	}
+
+
+	private final class Tokens extends AbstractList<String> implements RandomAccess
+	{
+		@Override
+		public String get(int index)
+		{
+			return CommandLine.this.get(index);
+		}
+
+		@Override
+		public int size()
+		{
+			return CommandLine.this.size();
+		}
+	}
+}
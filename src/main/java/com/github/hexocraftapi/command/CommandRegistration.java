@@ -16,16 +16,25 @@ package com.github.hexocraftapi.command;
  * limitations under the License.
  */
 
-import com.github.hexocraftapi.reflection.util.FieldUtil;
-import com.github.hexocraftapi.reflection.util.MethodUtil;
+import org.bukkit.Bukkit;
 import org.bukkit.Server;
-import org.bukkit.command.CommandMap;
+import org.bukkit.command.PluginIdentifiableCommand;
 import org.bukkit.command.SimpleCommandMap;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -33,17 +42,57 @@ import java.util.Map;
  */
 public class CommandRegistration
 {
+	/**
+	 * Reflected fields, resolved once
+	 */
+	private static volatile Field commandMapField;
+	private static volatile Field knownCommandsField;
+
+	/**
+	 * Keys of the known commands registered by each plugin, by plugin name.
+	 * The entry of a plugin is removed when it is disabled, so that its commands are not kept.
+	 */
+	private static final Map<String, Map<Command, List<String>>> registered = new HashMap<String, Map<Command, List<String>>>();
+
+	/**
+	 * Listener forgetting the commands of the disabled plugins, null if not registered
+	 */
+	private static Listener disableListener;
+
 	public static boolean registerCommand(JavaPlugin plugin, Command command)
 	{
 		try
 		{
-			if(isRegisteredCommand(plugin, command))
-			{
-				if(!unRegisterCommand(plugin, command))
-					return false;
-			}
+			SimpleCommandMap commandMap = getCommandMap(plugin.getServer());
+			return register(plugin, command, commandMap, getKnownCommands(commandMap));
+		}
+		catch(Exception e)
+		{
+			e.printStackTrace();
+		}
 
-			return getCommandMap(plugin.getServer()).register(plugin.getDescription().getName(),command);
+		return false;
+	}
+
+	/**
+	 * Register several commands, resolving the command map once
+	 *
+	 * @param plugin   Plugin owning the commands
+	 * @param commands Commands to register
+	 *
+	 * @return true if all the commands have been registered under their name
+	 */
+	public static boolean registerAll(JavaPlugin plugin, Collection<? extends Command> commands)
+	{
+		try
+		{
+			SimpleCommandMap commandMap = getCommandMap(plugin.getServer());
+			Map<String, org.bukkit.command.Command> knownCommands = getKnownCommands(commandMap);
+
+			boolean success = true;
+			for(Command command : commands)
+				success &= register(plugin, command, commandMap, knownCommands);
+			return success;
 		}
 		catch(Exception e)
 		{
@@ -57,18 +106,125 @@ public class CommandRegistration
 	{
 		try
 		{
-			Map<String,Command> knownCommands = getKnownCommands(plugin.getServer());
-			knownCommands.remove(command.getName().toLowerCase().trim());
-			for(String alias : command.getAliases())
+			unregister(plugin, command, getKnownCommands(getCommandMap(plugin.getServer())));
+			return true;
+		}
+		catch(NoSuchFieldException | IllegalAccessException e)
+		{
+			e.printStackTrace();
+		}
+		return false;
+	}
+
+	/**
+	 * Unregister all the commands of a plugin.
+	 * The commands registered by this class are removed using their registered keys only,
+	 * the others in one pass over the known commands.
+	 *
+	 * @param plugin Plugin owning the commands
+	 *
+	 * @return true if the commands have been unregistered
+	 */
+	public static boolean unregisterAll(JavaPlugin plugin)
+	{
+		try
+		{
+			Map<String, org.bukkit.command.Command> knownCommands = getKnownCommands(getCommandMap(plugin.getServer()));
+
+			Map<Command, List<String>> commands;
+			synchronized(registered)
+			{
+				commands = registered.remove(key(plugin.getName()));
+			}
+
+			if(commands != null)
+			{
+				for(Map.Entry<Command, List<String>> entry : commands.entrySet())
+				{
+					for(String key : entry.getValue())
+					{
+						if(knownCommands.get(key) == entry.getKey())
+							knownCommands.remove(key);
+					}
+				}
+			}
+			else
 			{
-				alias = alias.toLowerCase().trim();
-				if(knownCommands.containsKey(alias) && knownCommands.get(alias).toString().contains(plugin.getName()))
-					knownCommands.remove(alias);
+				for(Iterator<org.bukkit.command.Command> it = knownCommands.values().iterator(); it.hasNext(); )
+				{
+					org.bukkit.command.Command known = it.next();
+					if(known instanceof Command && isOwnedBy(known, plugin))
+						it.remove();
+				}
 			}
 
 			return true;
 		}
-		catch(NoSuchMethodException | IllegalAccessException | InvocationTargetException | NoSuchFieldException e)
+		catch(NoSuchFieldException | IllegalAccessException e)
+		{
+			e.printStackTrace();
+		}
+		return false;
+	}
+
+	/**
+	 * Replace a registered command by a new one, under the same keys, in a single step of the main thread.
+	 * The invocations already running keep the old command.
+	 *
+	 * @param plugin      Plugin owning the commands
+	 * @param command     Registered command
+	 * @param replacement New command
+	 *
+	 * @return true if the new command has been registered
+	 */
+	public static boolean swapCommand(JavaPlugin plugin, Command command, Command replacement)
+	{
+		try
+		{
+			SimpleCommandMap commandMap = getCommandMap(plugin.getServer());
+			Map<String, org.bukkit.command.Command> knownCommands = getKnownCommands(commandMap);
+
+			List<String> oldKeys = keys(plugin, command);
+			List<String> newKeys = keys(plugin, replacement);
+
+			// Release the keys the new command does not use
+			for(String key : oldKeys)
+			{
+				if(!newKeys.contains(key) && knownCommands.get(key) == command)
+					knownCommands.remove(key);
+			}
+
+			// The name always replaces, the aliases only replace the old command or a free key
+			List<String> keys = new ArrayList<String>();
+			for(int i = 0; i < newKeys.size(); i++)
+			{
+				String key = newKeys.get(i);
+				org.bukkit.command.Command known = knownCommands.get(key);
+				if(i < 2 || known == null || known == command)
+				{
+					knownCommands.put(key, replacement);
+					keys.add(key);
+				}
+			}
+
+			command.unregister(commandMap);
+			replacement.register(commandMap);
+
+			synchronized(registered)
+			{
+				Map<Command, List<String>> commands = registered.get(key(plugin.getName()));
+				if(commands == null)
+				{
+					registered.put(key(plugin.getName()), commands = new LinkedHashMap<Command, List<String>>());
+					forgetOnDisable();
+				}
+				commands.remove(command);
+				commands.put(replacement, keys);
+			}
+
+			return true;
+		}
+		catch(NoSuchFieldException | IllegalAccessException e)
 		{
 			e.printStackTrace();
 		}
@@ -77,24 +233,149 @@ public class CommandRegistration
 
 	public static boolean isRegisteredCommand(JavaPlugin plugin, Command command) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, NoSuchFieldException
 	{
-		return getKnownCommands(plugin.getServer()).get(command.getName().toLowerCase().trim()) != null;
+		return getKnownCommands(getCommandMap(plugin.getServer())).get(key(command.getName())) != null;
 	}
 
-	private static SimpleCommandMap getCommandMap(Server server) throws NoSuchFieldException, IllegalAccessException {
-		//Method getCommandMapMethod = MethodUtil.getMethod(server.getClass(), "getCommandMap");
-		//return (SimpleCommandMap) getCommandMapMethod.invoke(server);
-        return (SimpleCommandMap) FieldUtil.getField(server.getClass(), "commandMap", server);
+	private static boolean register(JavaPlugin plugin, Command command, SimpleCommandMap commandMap, Map<String, org.bukkit.command.Command> knownCommands)
+	{
+		if(knownCommands.get(key(command.getName())) != null)
+			unregister(plugin, command, knownCommands);
+
+		boolean success = commandMap.register(plugin.getDescription().getName(), command);
+
+		// Keep the keys actually registered
+		List<String> keys = new ArrayList<String>();
+		for(String key : keys(plugin, command))
+		{
+			if(knownCommands.get(key) == command)
+				keys.add(key);
+		}
+		synchronized(registered)
+		{
+			Map<Command, List<String>> commands = registered.get(key(plugin.getName()));
+			if(commands == null)
+			{
+				registered.put(key(plugin.getName()), commands = new LinkedHashMap<Command, List<String>>());
+				forgetOnDisable();
+			}
+			commands.put(command, keys);
+		}
 
-    }
+		return success;
+	}
 
-	private static Map<String, Command> getKnownCommands(Server server) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, NoSuchFieldException
+	private static void unregister(JavaPlugin plugin, Command command, Map<String, org.bukkit.command.Command> knownCommands)
 	{
-        SimpleCommandMap simpleCommandMap = getCommandMap(server);
-		return getKnownCommands(simpleCommandMap);
+		// The name is always released, the other keys only if owned by the plugin
+		knownCommands.remove(key(command.getName()));
+		for(String key : keys(plugin, command))
+		{
+			org.bukkit.command.Command known = knownCommands.get(key);
+			if(known != null && isOwnedBy(known, plugin))
+				knownCommands.remove(key);
+		}
+
+		synchronized(registered)
+		{
+			Map<Command, List<String>> commands = registered.get(key(plugin.getName()));
+			if(commands != null)
+				commands.remove(command);
+		}
 	}
 
-	private static Map<String, Command> getKnownCommands(SimpleCommandMap simpleCommandMap) throws NoSuchFieldException, IllegalAccessException
+	/**
+	 * Register a listener removing the entry of a plugin from {@link #registered} when it is disabled.
+	 * The listener belongs to the plugin embedding this library. Must be called while holding the lock on registered.
+	 */
+	private static void forgetOnDisable()
 	{
-		return (Map<String, Command>) FieldUtil.getField(SimpleCommandMap.class, "knownCommands", simpleCommandMap);
+		if(disableListener != null)
+			return;
+
+		final Plugin owner;
+		try
+		{
+			owner = JavaPlugin.getProvidingPlugin(CommandRegistration.class);
+		}
+		catch(IllegalArgumentException | IllegalStateException e)
+		{
+			return;
+		}
+		if(!owner.isEnabled())
+			return;
+
+		disableListener = new Listener() {};
+		Bukkit.getPluginManager().registerEvent(PluginDisableEvent.class, disableListener, EventPriority.MONITOR, (listener, event) -> {
+			Plugin plugin = ((PluginDisableEvent) event).getPlugin();
+			synchronized(registered)
+			{
+				registered.remove(key(plugin.getName()));
+				// The listener is unregistered with its owner
+				if(plugin == owner)
+					disableListener = null;
+			}
+		}, owner);
+	}
+
+	/**
+	 * @return The keys a command can be registered with: name, aliases, and their prefixed versions
+	 */
+	private static List<String> keys(JavaPlugin plugin, Command command)
+	{
+		String prefix = key(plugin.getDescription().getName()) + ":";
+		List<String> keys = new ArrayList<String>();
+		keys.add(key(command.getName()));
+		keys.add(prefix + key(command.getName()));
+		for(Object alias : command.getAliases())
+		{
+			keys.add(key((String) alias));
+			keys.add(prefix + key((String) alias));
+		}
+		return keys;
+	}
+
+	private static boolean isOwnedBy(org.bukkit.command.Command command, JavaPlugin plugin)
+	{
+		return command instanceof PluginIdentifiableCommand && ((PluginIdentifiableCommand) command).getPlugin().getName().equals(plugin.getName());
+	}
+
+	private static String key(String name)
+	{
+		return name.toLowerCase(Locale.ENGLISH).trim();
+	}
+
+	private static SimpleCommandMap getCommandMap(Server server) throws NoSuchFieldException, IllegalAccessException
+	{
+		Field field = commandMapField;
+		if(field == null || !field.getDeclaringClass().isInstance(server))
+			commandMapField = field = findField(server.getClass(), "commandMap");
+		return (SimpleCommandMap) field.get(server);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, org.bukkit.command.Command> getKnownCommands(SimpleCommandMap simpleCommandMap) throws NoSuchFieldException, IllegalAccessException
+	{
+		Field field = knownCommandsField;
+		if(field == null)
+			knownCommandsField = field = findField(SimpleCommandMap.class, "knownCommands");
+		return (Map<String, org.bukkit.command.Command>) field.get(simpleCommandMap);
+	}
+
+	private static Field findField(Class<?> clazz, String name) throws NoSuchFieldException
+	{
+		for(Class<?> c = clazz; c != null; c = c.getSuperclass())
+		{
+			try
+			{
+				Field field = c.getDeclaredField(name);
+				field.setAccessible(true);
+				return field;
+			}
+			catch(NoSuchFieldException e)
+			{
+				// Look in the super class
+			}
+		}
+		throw new NoSuchFieldException(name);
 	}
 }
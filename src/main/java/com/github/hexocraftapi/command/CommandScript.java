@@ -0,0 +1,297 @@
+package com.github.hexocraftapi.command;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.metrics.CommandOutcome;
+import org.bukkit.command.CommandException;
+import org.bukkit.command.CommandSender;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Execute a script of commands, one command line per line.
+ *
+ * Each line is executed directly against the command tree, without going through the dispatch of the server.
+ * The help and permission messages of the failing lines are not sent: the results are aggregated
+ * in a {@link Result}. Empty lines and lines starting with {@code #} are ignored. A line can start with
+ * the name or an alias of the command, optionally preceded by {@code /}.
+ *
+ * The script is streamed through a buffer of {@link #BUFFER_SIZE} bytes, each line is executed as soon as it is read.
+ * The file is not memory mapped, so it is released as soon as the script ends.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public class CommandScript
+{
+	/**
+	 * Size of the buffer reading the scripts
+	 */
+	public static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Maximum number of failed lines kept in a {@link Result}
+	 */
+	public static final int MAX_FAILURES = 20;
+
+	// Scripts running on the current thread
+	private static final ThreadLocal<Boolean> running = new ThreadLocal<>();
+
+	private final Command<?> command;
+
+	/**
+	 * @param command Command executing the lines of the scripts
+	 */
+	public CommandScript(Command<?> command)
+	{
+		this.command = command;
+	}
+
+	/**
+	 * Execute a script of the data folder of the plugin
+	 *
+	 * @param sender   Source object executing the script
+	 * @param fileName Path of the script, relative to the data folder of the plugin
+	 *
+	 * @return The results of the script
+	 *
+	 * @throws IOException              if the script can't be read
+	 * @throws IllegalArgumentException if the script is outside the data folder of the plugin
+	 */
+	public Result run(CommandSender sender, String fileName) throws IOException
+	{
+		File folder = this.command.getPlugin().getDataFolder().getCanonicalFile();
+		File file = new File(folder, fileName).getCanonicalFile();
+		if(!file.toPath().startsWith(folder.toPath()))
+			throw new IllegalArgumentException("The script '" + fileName + "' is outside the data folder of the plugin");
+
+		return run(sender, file);
+	}
+
+	/**
+	 * Execute a script
+	 *
+	 * @param sender Source object executing the script
+	 * @param file   Script
+	 *
+	 * @return The results of the script
+	 *
+	 * @throws IOException           if the script can't be read
+	 * @throws IllegalStateException if a script is already running on the current thread
+	 */
+	public Result run(CommandSender sender, File file) throws IOException
+	{
+		if(running.get() != null)
+			throw new IllegalStateException("A script can't be executed by a script");
+
+		running.set(Boolean.TRUE);
+		try(RandomAccessFile input = new RandomAccessFile(file, "r"); FileChannel channel = input.getChannel())
+		{
+			long size = channel.size();
+			if(size > Integer.MAX_VALUE)
+				throw new IOException("The script '" + file.getName() + "' is too large");
+
+			// Small scripts are read at once
+			ByteBuffer buffer = ByteBuffer.allocate((int) Math.max(1, Math.min(size, BUFFER_SIZE)));
+			return run(sender, channel, buffer);
+		}
+		finally
+		{
+			running.remove();
+		}
+	}
+
+	private Result run(CommandSender sender, FileChannel channel, ByteBuffer buffer) throws IOException
+	{
+		Result result = new Result();
+		byte[] line = new byte[256];
+		int length = 0;
+		int lineNumber = 0;
+		// Indicate that the last line is not ended by a line feed
+		boolean pending = false;
+
+		buffer.flip();
+		while(true)
+		{
+			// Read the next block of the script
+			if(!buffer.hasRemaining())
+			{
+				buffer.clear();
+				if(channel.read(buffer) < 0)
+					break;
+				buffer.flip();
+				continue;
+			}
+
+			byte b = buffer.get();
+			if(b != '\n')
+			{
+				if(length == line.length) line = Arrays.copyOf(line, length * 2);
+				line[length++] = b;
+				pending = true;
+				continue;
+			}
+
+			execute(sender, line, length, ++lineNumber, result);
+			length = 0;
+			pending = false;
+		}
+		if(pending)
+			execute(sender, line, length, ++lineNumber, result);
+
+		result.nanos = System.nanoTime() - result.start;
+		return result;
+	}
+
+	private void execute(CommandSender sender, byte[] line, int length, int lineNumber, Result result)
+	{
+		if(length > 0 && line[length - 1] == '\r') length--;
+		execute(sender, new String(line, 0, length, StandardCharsets.UTF_8), lineNumber, result);
+	}
+
+	private void execute(CommandSender sender, String line, int lineNumber, Result result)
+	{
+		line = line.trim();
+		if(line.isEmpty() || line.charAt(0) == '#')
+		{
+			result.skipped++;
+			return;
+		}
+
+		String[] args = line.split(" ");
+
+		// Optional name of the command
+		String first = args[0].startsWith("/") ? args[0].substring(1) : args[0];
+		boolean named = first.equalsIgnoreCase(this.command.getName()) || containsIgnoreCase(this.command.getAliases(), first);
+		if(named)
+			args = Arrays.copyOfRange(args, 1, args.length);
+
+		CommandOutcome outcome;
+		try
+		{
+			outcome = this.command.executeQuietly(sender, this.command.getName(), CommandLine.parse(args, false));
+		}
+		catch(CommandException ex)
+		{
+			this.command.getPlugin().getLogger().log(Level.SEVERE, "Line " + lineNumber + " of the script: " + ex.getMessage(), ex.getCause());
+			outcome = CommandOutcome.EXCEPTION;
+		}
+
+		result.add(lineNumber, line, outcome);
+	}
+
+	private static boolean containsIgnoreCase(List<String> names, String name)
+	{
+		if(names == null) return false;
+		for(String n : names)
+		{
+			if(n.equalsIgnoreCase(name))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Aggregated results of a script
+	 */
+	public static final class Result
+	{
+		private final long start = System.nanoTime();
+		private final int[] outcomes = new int[CommandOutcome.values().length];
+		private final List<Failure> failures = new ArrayList<>();
+		private int executed;
+		private int skipped;
+		private long nanos;
+
+		private Result() {}
+
+		private void add(int lineNumber, String line, CommandOutcome outcome)
+		{
+			this.executed++;
+			this.outcomes[outcome.ordinal()]++;
+			if(outcome != CommandOutcome.SUCCESS && this.failures.size() < MAX_FAILURES)
+				this.failures.add(new Failure(lineNumber, line, outcome));
+		}
+
+		/**
+		 * @return Number of executed lines
+		 */
+		public int getExecuted() { return executed; }
+
+		/**
+		 * @return Number of empty and comment lines
+		 */
+		public int getSkipped() { return skipped; }
+
+		/**
+		 * @return Number of executed lines having succeeded
+		 */
+		public int getSucceeded() { return outcomes[CommandOutcome.SUCCESS.ordinal()]; }
+
+		/**
+		 * @return Number of executed lines having failed
+		 */
+		public int getFailed() { return executed - getSucceeded(); }
+
+		/**
+		 * @param outcome Outcome
+		 *
+		 * @return Number of executed lines having this outcome
+		 */
+		public int getOutcome(CommandOutcome outcome) { return outcomes[outcome.ordinal()]; }
+
+		/**
+		 * @return The first failed lines, at most {@link #MAX_FAILURES}
+		 */
+		public List<Failure> getFailures() { return Collections.unmodifiableList(failures); }
+
+		/**
+		 * @return Duration of the script in nanoseconds
+		 */
+		public long getNanos() { return nanos; }
+	}
+
+	/**
+	 * A failed line of a script
+	 */
+	public static final class Failure
+	{
+		private final int lineNumber;
+		private final String line;
+		private final CommandOutcome outcome;
+
+		private Failure(int lineNumber, String line, CommandOutcome outcome)
+		{
+			this.lineNumber = lineNumber;
+			this.line = line;
+			this.outcome = outcome;
+		}
+
+		public int getLineNumber() { return lineNumber; }
+		public String getLine() { return line; }
+		public CommandOutcome getOutcome() { return outcome; }
+	}
+}
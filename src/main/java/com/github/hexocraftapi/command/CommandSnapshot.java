@@ -0,0 +1,200 @@
+package com.github.hexocraftapi.command;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.util.NameIndex;
+import com.github.hexocraftapi.command.util.SuggestionIndex;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of a command: its sub commands, their lookup indexes and its arguments.
+ *
+ * A snapshot is never modified once built, so it can be read by any thread without lock.
+ * A change of the command publishes a new snapshot.
+ *
+ * The lookup indexes are built on first use, or when the snapshot is compiled.
+ * They are immutable, so a race between two readers building them only wastes work.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+final class CommandSnapshot
+{
+	static final CommandSnapshot EMPTY = new CommandSnapshot(Collections.<String, Command<?>>emptyMap(), Collections.<CommandArgument<?>>emptyList(), true);
+
+	/**
+	 * Sub commands by name, in insertion order, unmodifiable
+	 */
+	final Map<String, Command<?>> subCommands;
+
+	/**
+	 * Arguments of the command, unmodifiable
+	 */
+	final List<CommandArgument<?>> arguments;
+
+	/**
+	 * Arguments of the command
+	 */
+	final CommandArgument<?>[] argumentArray;
+
+	/**
+	 * Indicate that the last argument is a collection
+	 */
+	final boolean hasCollection;
+
+	/**
+	 * Minimum arguments for a player and for the console
+	 */
+	final int minArgs;
+	final int minConsoleArgs;
+
+	/**
+	 * Case-insensitive index of sub commands names and aliases, built on first use
+	 */
+	private NameIndex<Command<?>> subCommandIndex;
+
+	/**
+	 * Index of the misspelled sub commands names and aliases, built on first use
+	 */
+	private SuggestionIndex subCommandSuggestions;
+
+	/**
+	 * @param subCommands Unmodifiable map of the sub commands, never modified afterwards
+	 * @param arguments   Unmodifiable list of the arguments, never modified afterwards
+	 * @param compile     true to build the lookup indexes now
+	 */
+	CommandSnapshot(Map<String, Command<?>> subCommands, List<CommandArgument<?>> arguments, boolean compile)
+	{
+		this.subCommands = subCommands;
+		this.arguments = arguments;
+		this.argumentArray = arguments.toArray(new CommandArgument<?>[arguments.size()]);
+		this.hasCollection = this.argumentArray.length > 0 && this.argumentArray[this.argumentArray.length - 1].isCollection();
+
+		int minArgs = 0;
+		int minConsoleArgs = 0;
+		for(CommandArgument<?> argument : this.argumentArray)
+		{
+			if(argument.hasDefaultValue()) continue;
+			if(argument.isMandatory()) minArgs++;
+			if(argument.isMandatoryForConsole()) minConsoleArgs++;
+		}
+		this.minArgs = minArgs;
+		this.minConsoleArgs = minConsoleArgs;
+
+		if(compile)
+		{
+			subCommandIndex();
+			subCommandSuggestions();
+		}
+	}
+
+	/**
+	 * @param compile true to build the lookup indexes now
+	 *
+	 * @return A new snapshot of the same sub commands and arguments
+	 */
+	CommandSnapshot rebuild(boolean compile)
+	{
+		return new CommandSnapshot(this.subCommands, this.arguments, compile);
+	}
+
+	/**
+	 * @param name Name or alias of the sub command (case insensitive)
+	 *
+	 * @return The sub command, or null
+	 */
+	Command<?> getSubCommand(String name)
+	{
+		return subCommandIndex().get(name);
+	}
+
+	/**
+	 * @return Case-insensitive index of sub commands names and aliases. Names take precedence over aliases.
+	 */
+	NameIndex<Command<?>> subCommandIndex()
+	{
+		NameIndex<Command<?>> index = this.subCommandIndex;
+		if(index == null)
+		{
+			NameIndex.Builder<Command<?>> builder = NameIndex.builder();
+			for(Command<?> command : subCommands.values())
+				builder.put(command.getName(), command);
+			for(Command<?> command : subCommands.values())
+			{
+				if(command.getAliases() == null) continue;
+				for(String alias : command.getAliases())
+					builder.put(alias, command);
+			}
+			this.subCommandIndex = index = builder.build();
+		}
+		return index;
+	}
+
+	/**
+	 * @return Index of the misspelled sub commands names and aliases
+	 */
+	SuggestionIndex subCommandSuggestions()
+	{
+		SuggestionIndex suggestions = this.subCommandSuggestions;
+		if(suggestions == null)
+		{
+			SuggestionIndex.Builder builder = SuggestionIndex.builder();
+			for(Command<?> command : subCommands.values())
+				builder.put(command.getName());
+			for(Command<?> command : subCommands.values())
+			{
+				if(command.getAliases() == null) continue;
+				for(String alias : command.getAliases())
+					builder.put(alias);
+			}
+			this.subCommandSuggestions = suggestions = builder.build();
+		}
+		return suggestions;
+	}
+
+	/**
+	 * @param sender Sender
+	 *
+	 * @return Minimum arguments used by the command for the sender
+	 */
+	int getMinArgs(CommandSender sender)
+	{
+		return sender instanceof ConsoleCommandSender ? minConsoleArgs : minArgs;
+	}
+
+	/**
+	 * @return Maximum arguments used by the command
+	 */
+	int getMaxArgs()
+	{
+		return hasCollection ? Integer.MAX_VALUE : argumentArray.length;
+	}
+
+	/**
+	 * @param index Index of the argument
+	 *
+	 * @return The argument at the index, or null
+	 */
+	CommandArgument<?> getArgument(int index)
+	{
+		return index < argumentArray.length ? argumentArray[index] : null;
+	}
+}
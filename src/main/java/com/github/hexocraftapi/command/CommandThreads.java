@@ -0,0 +1,219 @@
+package com.github.hexocraftapi.command;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads used by the commands running off the main server thread.
+ *
+ * The worker pool is created on first use, and shut down when the plugin embedding
+ * this library is disabled. It is created again on next use.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public final class CommandThreads
+{
+	private static volatile Executor workers;
+
+	/**
+	 * Maximum time to wait for the running tasks when the workers are shut down, in milliseconds
+	 */
+	private static final long SHUTDOWN_TIMEOUT = 1000;
+
+	/**
+	 * Listener shutting down the workers when the plugin is disabled, null if not registered
+	 */
+	private static Listener disableListener;
+
+	private CommandThreads() {}
+
+	/**
+	 * @return The executor running asynchronous command work
+	 */
+	public static Executor getWorkers()
+	{
+		Executor executor = workers;
+		if(executor == null)
+		{
+			synchronized(CommandThreads.class)
+			{
+				if(workers == null)
+				{
+					workers = newWorkerPool();
+					shutdownOnDisable();
+				}
+				executor = workers;
+			}
+		}
+		return executor;
+	}
+
+	/**
+	 * Replace the executor running asynchronous command work.
+	 * The previous executor is shut down: the running tasks complete, the new tasks are rejected.
+	 *
+	 * @param executor The new executor
+	 */
+	public static void setWorkers(Executor executor)
+	{
+		if(executor == null) throw new IllegalArgumentException("executor must be different from null");
+
+		Executor previous;
+		synchronized(CommandThreads.class)
+		{
+			previous = workers;
+			workers = executor;
+		}
+		if(previous != executor && previous instanceof ExecutorService)
+			((ExecutorService) previous).shutdown();
+	}
+
+	/**
+	 * Shut down the executor running asynchronous command work.
+	 * The running tasks are given a short time to complete, then interrupted.
+	 * A new worker pool is created on next use.
+	 */
+	public static void shutdown()
+	{
+		Executor previous;
+		synchronized(CommandThreads.class)
+		{
+			previous = workers;
+			workers = null;
+			if(disableListener != null)
+			{
+				HandlerList.unregisterAll(disableListener);
+				disableListener = null;
+			}
+		}
+		if(!(previous instanceof ExecutorService))
+			return;
+
+		ExecutorService executor = (ExecutorService) previous;
+		executor.shutdown();
+		try
+		{
+			if(!executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS))
+				executor.shutdownNow();
+		}
+		catch(InterruptedException e)
+		{
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * @param plugin Plugin owning the tasks
+	 *
+	 * @return An executor running the tasks on the main server thread
+	 */
+	public static Executor mainThread(Plugin plugin)
+	{
+		return task -> {
+			if(Bukkit.isPrimaryThread())
+				task.run();
+			else
+				plugin.getServer().getScheduler().runTask(plugin, task);
+		};
+	}
+
+	/**
+	 * Call a task on the main server thread.
+	 *
+	 * @param plugin Plugin owning the task
+	 * @param task   Task to call
+	 *
+	 * @return The result of the task
+	 */
+	public static <T> CompletableFuture<T> callSync(Plugin plugin, Callable<T> task)
+	{
+		CompletableFuture<T> future = new CompletableFuture<>();
+		try
+		{
+			mainThread(plugin).execute(() -> {
+				try
+				{
+					future.complete(task.call());
+				}
+				catch(Throwable ex)
+				{
+					future.completeExceptionally(ex);
+				}
+			});
+		}
+		catch(Throwable ex)
+		{
+			// The plugin is disabled, the task can't be scheduled
+			future.completeExceptionally(ex);
+		}
+		return future;
+	}
+
+	/**
+	 * Register a listener shutting down the workers when the plugin embedding this library is disabled
+	 */
+	private static void shutdownOnDisable()
+	{
+		if(disableListener != null)
+			return;
+
+		final Plugin plugin;
+		try
+		{
+			plugin = JavaPlugin.getProvidingPlugin(CommandThreads.class);
+		}
+		catch(IllegalArgumentException | IllegalStateException e)
+		{
+			return;
+		}
+		if(!plugin.isEnabled())
+			return;
+
+		disableListener = new Listener() {};
+		Bukkit.getPluginManager().registerEvent(PluginDisableEvent.class, disableListener, EventPriority.MONITOR, (listener, event) -> {
+			if(((PluginDisableEvent) event).getPlugin() == plugin)
+				shutdown();
+		}, plugin);
+	}
+
+	private static ExecutorService newWorkerPool()
+	{
+		int threads = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+		final AtomicInteger count = new AtomicInteger();
+		return Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "Command-Worker-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+}
@@ -0,0 +1,37 @@
+package com.github.hexocraftapi.command;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Build the command tree of a plugin: the main command and its sub commands.
+ *
+ * Used to reload the commands without disabling the plugin,
+ * see {@link com.github.hexocraftapi.command.predifined.CommandReload}.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public interface CommandTreeFactory<PluginClass extends JavaPlugin>
+{
+	/**
+	 * @param plugin The plugin owning the commands
+	 *
+	 * @return A new main command
+	 */
+	Command<PluginClass> create(PluginClass plugin);
+}
@@ -0,0 +1,296 @@
+package com.github.hexocraftapi.command.annotation;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.Command;
+import com.github.hexocraftapi.command.CommandArgument;
+import com.github.hexocraftapi.command.CommandInfo;
+import com.github.hexocraftapi.command.type.ArgType;
+import com.github.hexocraftapi.command.type.ArgTypes;
+import org.bukkit.command.CommandException;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Command executing a method annotated with {@link CommandHandler}.
+ *
+ * The methods are bound once, when {@link #bind(Object)} is called: each method is converted to a
+ * {@link MethodHandle} and each {@link Arg} parameter to a {@link CommandArgument}. When the command
+ * is executed, the arguments parsed by the dispatcher are passed to the method without reflection.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public class AnnotatedCommand<PluginClass extends JavaPlugin> extends Command<PluginClass>
+{
+	private Handler handler = null;
+
+	/**
+	 * @param name Name of the command.
+	 * @param plugin The plugin that this listener belongs to.
+	 */
+	public AnnotatedCommand(String name, PluginClass plugin)
+	{
+		super(name, plugin);
+	}
+
+	/**
+	 * Bind the methods annotated with {@link CommandHandler} of an object to this command and to its sub commands.
+	 * The missing sub commands of the paths are created.
+	 *
+	 * @param handlers Object declaring the handlers
+	 *
+	 * @return The command
+	 *
+	 * @throws IllegalArgumentException if a handler can't be bound
+	 */
+	public AnnotatedCommand<PluginClass> bind(Object handlers)
+	{
+		List<Method> methods = new ArrayList<Method>();
+		for(Method method : handlers.getClass().getMethods())
+		{
+			if(method.isAnnotationPresent(CommandHandler.class))
+				methods.add(method);
+		}
+
+		// Parents first, then by path
+		Collections.sort(methods, new Comparator<Method>()
+		{
+			@Override
+			public int compare(Method a, Method b)
+			{
+				return a.getAnnotation(CommandHandler.class).path().trim().compareTo(b.getAnnotation(CommandHandler.class).path().trim());
+			}
+		});
+
+		for(Method method : methods)
+			bind(handlers, method);
+
+		return this;
+	}
+
+	private void bind(Object handlers, Method method)
+	{
+		CommandHandler annotation = method.getAnnotation(CommandHandler.class);
+		AnnotatedCommand<PluginClass> command = getOrCreate(annotation.path(), method);
+		if(command.handler != null)
+			throw new IllegalArgumentException("The command '" + command.getPath() + "' is already bound, can't bind " + method);
+
+		// Command
+		if(annotation.aliases().length > 0)
+			command.setAliases(Arrays.asList(annotation.aliases()));
+		if(!annotation.permission().isEmpty())
+			command.setPermission(annotation.permission());
+		if(!annotation.description().isEmpty())
+			command.setDescription(annotation.description());
+		command.setAsync(annotation.async());
+
+		// Parameters
+		Parameter[] parameters = method.getParameters();
+		Injection[] injections = new Injection[parameters.length];
+		for(int i = 0; i < parameters.length; i++)
+		{
+			injections[i] = injection(parameters[i], method);
+			if(injections[i].argument != null)
+				command.addArgument(injections[i].argument);
+		}
+
+		// Method handle taking the parameters as an array
+		MethodHandle invoker;
+		try
+		{
+			method.setAccessible(true);
+			invoker = MethodHandles.lookup().unreflect(method)
+								   .bindTo(handlers)
+								   .asSpreader(Object[].class, parameters.length)
+								   .asType(MethodType.methodType(Object.class, Object[].class));
+		}
+		catch(IllegalAccessException | SecurityException ex)
+		{
+			throw new IllegalArgumentException("Can't bind " + method, ex);
+		}
+
+		command.handler = new Handler(invoker, injections);
+	}
+
+	@SuppressWarnings("unchecked")
+	private AnnotatedCommand<PluginClass> getOrCreate(String path, Method method)
+	{
+		Command<?> command = this;
+		for(String name : path.trim().split(" +"))
+		{
+			if(name.isEmpty()) continue;
+
+			Command<?> subCommand = command.getSubCommand(name);
+			if(subCommand == null)
+			{
+				subCommand = new AnnotatedCommand<PluginClass>(name, this.plugin);
+				command.addSubCommand(subCommand);
+			}
+			command = subCommand;
+		}
+
+		if(!(command instanceof AnnotatedCommand))
+			throw new IllegalArgumentException("The command '" + command.getPath() + "' is not an annotated command, can't bind " + method);
+		return (AnnotatedCommand<PluginClass>) command;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Injection injection(Parameter parameter, Method method)
+	{
+		Class<?> type = parameter.getType();
+		Arg arg = parameter.getAnnotation(Arg.class);
+
+		// Context of the command
+		if(arg == null)
+		{
+			if(type == CommandInfo.class) return new Injection(Injection.INFO, null, null);
+			if(type == CommandSender.class) return new Injection(Injection.SENDER, null, null);
+			if(type == Player.class) return new Injection(Injection.PLAYER, null, null);
+			throw new IllegalArgumentException("The parameter '" + parameter.getName() + "' of " + method + " must be annotated with @Arg");
+		}
+
+		// Argument of the command
+		ArgType argType = ArgTypes.get(type);
+		if(argType == null)
+			throw new IllegalArgumentException("No argument type registered for the parameter '" + arg.value() + "' of " + method);
+
+		Object defaultValue = null;
+		if(!arg.defaultValue().isEmpty())
+		{
+			defaultValue = argType.get(arg.defaultValue());
+			if(defaultValue == null)
+				throw new IllegalArgumentException("Invalid default value '" + arg.defaultValue() + "' for the parameter '" + arg.value() + "' of " + method);
+		}
+
+		boolean mandatory = !arg.optional();
+		boolean mandatoryForConsole = mandatory || arg.consoleMandatory();
+		String description = arg.description().isEmpty() ? null : arg.description();
+		CommandArgument<?> argument = new CommandArgument(arg.value(), argType, defaultValue, mandatory, mandatoryForConsole, description);
+
+		return new Injection(Injection.ARGUMENT, argument, zero(type));
+	}
+
+	/**
+	 * @return Value of a primitive type passed when an optional argument is missing
+	 */
+	private static Object zero(Class<?> type)
+	{
+		if(!type.isPrimitive()) return null;
+		if(type == boolean.class) return Boolean.FALSE;
+		if(type == char.class) return Character.valueOf((char) 0);
+		if(type == long.class) return 0L;
+		if(type == float.class) return 0f;
+		if(type == double.class) return 0d;
+		if(type == short.class) return (short) 0;
+		if(type == byte.class) return (byte) 0;
+		return 0;
+	}
+
+	/**
+	 * Executes the bound handler, returning its success
+	 *
+	 * @param commandInfo Info about the command
+	 *
+	 * @return true if a valid command, otherwise false
+	 */
+	@Override
+	public boolean onCommand(CommandInfo commandInfo)
+	{
+		Handler commandHandler = this.handler;
+		return commandHandler != null ? commandHandler.invoke(commandInfo) : super.onCommand(commandInfo);
+	}
+
+	private static final class Handler
+	{
+		private final MethodHandle invoker;
+		private final Injection[] injections;
+
+		private Handler(MethodHandle invoker, Injection[] injections)
+		{
+			this.invoker = invoker;
+			this.injections = injections;
+		}
+
+		private boolean invoke(CommandInfo commandInfo)
+		{
+			Object[] values = new Object[injections.length];
+			for(int i = 0; i < injections.length; i++)
+				values[i] = injections[i].value(commandInfo);
+
+			Object result;
+			try
+			{
+				result = (Object) invoker.invokeExact(values);
+			}
+			catch(RuntimeException | Error ex)
+			{
+				throw ex;
+			}
+			catch(Throwable ex)
+			{
+				throw new CommandException(ex.getMessage(), ex);
+			}
+
+			// void handlers return null
+			return !(result instanceof Boolean) || (Boolean) result;
+		}
+	}
+
+	private static final class Injection
+	{
+		private static final int INFO = 0;
+		private static final int SENDER = 1;
+		private static final int PLAYER = 2;
+		private static final int ARGUMENT = 3;
+
+		private final int kind;
+		private final CommandArgument<?> argument;
+		private final Object missing;
+
+		private Injection(int kind, CommandArgument<?> argument, Object missing)
+		{
+			this.kind = kind;
+			this.argument = argument;
+			this.missing = missing;
+		}
+
+		private Object value(CommandInfo commandInfo)
+		{
+			switch(kind)
+			{
+				case INFO: return commandInfo;
+				case SENDER: return commandInfo.getSender();
+				case PLAYER: return commandInfo.getPlayer();
+				default:
+					Object value = commandInfo.getArg(argument);
+					return value != null ? value : missing;
+			}
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package com.github.hexocraftapi.command.annotation;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declare a parameter of a {@link CommandHandler} as an argument of the command.
+ *
+ * The argument type is found in {@link com.github.hexocraftapi.command.type.ArgTypes} from the type of the parameter.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface Arg
+{
+	/**
+	 * @return Name of the argument
+	 */
+	String value();
+
+	/**
+	 * @return true if the argument is optional
+	 */
+	boolean optional() default false;
+
+	/**
+	 * @return true if the argument is mandatory for the console, even if optional
+	 */
+	boolean consoleMandatory() default false;
+
+	/**
+	 * @return Default value of the argument, parsed by its type. Empty for no default value.
+	 */
+	String defaultValue() default "";
+
+	/**
+	 * @return Description of the argument
+	 */
+	String description() default "";
+}
@@ -0,0 +1,65 @@
+package com.github.hexocraftapi.command.annotation;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declare a method as the handler of a command, see {@link AnnotatedCommand#bind(Object)}.
+ *
+ * The parameters of the method annotated with {@link Arg} are the arguments of the command.
+ * The other parameters can be a {@link com.github.hexocraftapi.command.CommandInfo},
+ * a {@link org.bukkit.command.CommandSender} or a {@link org.bukkit.entity.Player} (null for the console).
+ * The method returns the success of the command, or nothing.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CommandHandler
+{
+	/**
+	 * @return Path of the command from the bound command, sub commands separated by spaces.
+	 *         An empty path is the bound command itself.
+	 */
+	String path();
+
+	/**
+	 * @return Aliases of the command
+	 */
+	String[] aliases() default {};
+
+	/**
+	 * @return Permission of the command
+	 */
+	String permission() default "";
+
+	/**
+	 * @return Description of the command
+	 */
+	String description() default "";
+
+	/**
+	 * @return true to execute the command off the main thread, see {@link com.github.hexocraftapi.command.Command#setAsync(boolean)}
+	 */
+	boolean async() default false;
+}
@@ -0,0 +1,365 @@
+package com.github.hexocraftapi.command.index;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.util.PrefixIndex;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the online players, by name (case insensitive, sorted) and by UUID.
+ *
+ * The index is kept up to date by join and quit listeners, registered on first use
+ * for the plugin embedding this library. The sorted names are rebuilt on the first
+ * lookup following a join or a quit, so a prefix completion is a range of the sorted
+ * names and an exact lookup is a hash hit.
+ *
+ * The completion filters the players hidden from the viewer through a per-viewer
+ * visibility cache: one bit per position in the sorted names, computed on first test.
+ * Bukkit has no event for hide and show, so a cache is dropped when the names change,
+ * when its time to live expires, or when {@link #visibilityChanged()} is called,
+ * typically by a vanish plugin. The cache is only used on the main thread.
+ *
+ * If the listeners can't be registered (plugin disabled), the index is built from
+ * the online players on each lookup, without visibility cache.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public final class PlayerIndex implements Listener
+{
+	private PlayerIndex() {};
+	private static PlayerIndex t = new PlayerIndex();
+	public static PlayerIndex get() { t.install(); return t; }
+
+	/**
+	 * Online players by UUID
+	 */
+	private final Map<UUID, Player> players = new ConcurrentHashMap<UUID, Player>();
+
+	/**
+	 * Sorted names of the online players, null when it must be rebuilt
+	 */
+	private volatile PrefixIndex<Player> names = null;
+
+	/**
+	 * Modification counter of the online players
+	 */
+	private volatile long version = 0;
+
+	/**
+	 * Visibility caches by viewer
+	 */
+	private final Map<UUID, Visibility> visibilities = new ConcurrentHashMap<UUID, Visibility>();
+
+	/**
+	 * Modification counter of the visibility of the players
+	 */
+	private volatile long visibilityVersion = 0;
+
+	/**
+	 * Time to live of a visibility cache in milliseconds
+	 */
+	private volatile long visibilityTtl = 5000;
+
+	/**
+	 * Plugin the listeners are registered for, null if not installed
+	 */
+	private volatile Plugin plugin = null;
+
+	/**
+	 * Register the listeners and index the online players, once
+	 *
+	 * @return true if the index is maintained by the listeners
+	 */
+	private boolean install()
+	{
+		if(this.plugin != null)
+			return true;
+
+		synchronized(this)
+		{
+			if(this.plugin != null)
+				return true;
+
+			Plugin provider;
+			try
+			{
+				provider = JavaPlugin.getProvidingPlugin(PlayerIndex.class);
+			}
+			catch(IllegalArgumentException | IllegalStateException e)
+			{
+				return false;
+			}
+			if(!provider.isEnabled())
+				return false;
+
+			Bukkit.getPluginManager().registerEvents(this, provider);
+			this.players.clear();
+			for(Player player : Bukkit.getOnlinePlayers())
+				this.players.put(player.getUniqueId(), player);
+			changed();
+			this.plugin = provider;
+			return true;
+		}
+	}
+
+	/**
+	 * @return Sorted names of the online players
+	 */
+	public PrefixIndex<Player> names()
+	{
+		if(this.plugin == null)
+			return build(Bukkit.getOnlinePlayers());
+
+		PrefixIndex<Player> index = this.names;
+		if(index == null)
+		{
+			long v = this.version;
+			index = build(this.players.values());
+			if(this.version == v)
+			{
+				this.names = index;
+				// Changed between the check and the write: the index may be stale
+				if(this.version != v)
+					this.names = null;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * @param name Name of the player (case insensitive)
+	 *
+	 * @return The player with this exact name, otherwise the player with the shortest name
+	 *         starting with it, or null
+	 */
+	public Player getPlayer(String name)
+	{
+		if(name == null || name.isEmpty())
+			return null;
+
+		PrefixIndex<Player> index = names();
+		Player player = index.get(name);
+		if(player != null)
+			return player;
+
+		// Same fallback as Bukkit: the closest name starting with the prefix
+		Player found = null;
+		int delta = Integer.MAX_VALUE;
+		for(int i = index.from(name), to = index.to(name); i < to; i++)
+		{
+			int d = index.getName(i).length() - name.length();
+			if(d < delta)
+			{
+				found = index.getValue(i);
+				delta = d;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * @param uuid UUID of the player
+	 *
+	 * @return The online player, or null
+	 */
+	public Player getPlayer(UUID uuid)
+	{
+		return this.plugin != null ? this.players.get(uuid) : Bukkit.getPlayer(uuid);
+	}
+
+	/**
+	 * @param prefix Beginning of the name (case insensitive)
+	 * @param viewer Player completing the name, or null
+	 *
+	 * @return The names of the players starting with the prefix and visible by the viewer, sorted
+	 */
+	public List<String> complete(String prefix, Player viewer)
+	{
+		PrefixIndex<Player> index = names();
+		int from = prefix.isEmpty() ? 0 : index.from(prefix);
+		int to = prefix.isEmpty() ? index.size() : index.to(prefix);
+
+		List<String> completions = new ArrayList<String>(Math.max(0, to - from));
+		if(viewer == null)
+		{
+			for(int i = from; i < to; i++)
+				completions.add(index.getName(i));
+		}
+		else if(this.plugin == null)
+		{
+			for(int i = from; i < to; i++)
+			{
+				if(viewer.canSee(index.getValue(i)))
+					completions.add(index.getName(i));
+			}
+		}
+		else
+		{
+			Visibility visibility = visibility(viewer, index);
+			for(int i = from; i < to; i++)
+			{
+				if(visibility.canSee(viewer, i))
+					completions.add(index.getName(i));
+			}
+		}
+		return completions;
+	}
+
+	/**
+	 * Drop the visibility caches of all the viewers.
+	 * To be called when a player is hidden or shown, for example by a vanish plugin.
+	 */
+	public void visibilityChanged()
+	{
+		this.visibilityVersion++;
+		this.visibilities.clear();
+	}
+
+	/**
+	 * Drop the visibility cache of a viewer
+	 *
+	 * @param viewer Viewer whose visible players changed
+	 */
+	public void visibilityChanged(Player viewer)
+	{
+		this.visibilities.remove(viewer.getUniqueId());
+	}
+
+	/**
+	 * @return Time to live of a visibility cache in milliseconds
+	 */
+	public long getVisibilityTtl()
+	{
+		return visibilityTtl;
+	}
+
+	/**
+	 * @param visibilityTtl Time to live of a visibility cache in milliseconds, 0 to disable the cache
+	 */
+	public void setVisibilityTtl(long visibilityTtl)
+	{
+		this.visibilityTtl = visibilityTtl;
+		this.visibilities.clear();
+	}
+
+	/**
+	 * @return The visibility cache of the viewer, valid for the sorted names
+	 */
+	private Visibility visibility(Player viewer, PrefixIndex<Player> index)
+	{
+		long now = System.currentTimeMillis();
+		Visibility visibility = this.visibilities.get(viewer.getUniqueId());
+		if(visibility == null || visibility.names != index || visibility.version != this.visibilityVersion || now >= visibility.expires)
+		{
+			visibility = new Visibility(index, this.visibilityVersion, now + this.visibilityTtl);
+			this.visibilities.put(viewer.getUniqueId(), visibility);
+		}
+		return visibility;
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPlayerJoin(PlayerJoinEvent event)
+	{
+		this.players.put(event.getPlayer().getUniqueId(), event.getPlayer());
+		changed();
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPlayerQuit(PlayerQuitEvent event)
+	{
+		this.players.remove(event.getPlayer().getUniqueId());
+		this.visibilities.remove(event.getPlayer().getUniqueId());
+		changed();
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPluginDisable(PluginDisableEvent event)
+	{
+		// The listeners are unregistered with the plugin, they will be registered again on next use
+		if(event.getPlugin() == this.plugin)
+		{
+			this.plugin = null;
+			this.players.clear();
+			this.visibilities.clear();
+			changed();
+		}
+	}
+
+	private void changed()
+	{
+		this.version++;
+		this.names = null;
+	}
+
+	/**
+	 * Visibility of the sorted names for one viewer, one bit per position
+	 */
+	private static final class Visibility
+	{
+		final PrefixIndex<Player> names;
+		final long version;
+		final long expires;
+		final long[] known;
+		final long[] visible;
+
+		Visibility(PrefixIndex<Player> names, long version, long expires)
+		{
+			this.names = names;
+			this.version = version;
+			this.expires = expires;
+			this.known = new long[(names.size() + 63) >>> 6];
+			this.visible = new long[(names.size() + 63) >>> 6];
+		}
+
+		boolean canSee(Player viewer, int i)
+		{
+			int word = i >>> 6;
+			long bit = 1L << i;
+			if((known[word] & bit) == 0)
+			{
+				if(viewer.canSee(names.getValue(i)))
+					visible[word] |= bit;
+				known[word] |= bit;
+			}
+			return (visible[word] & bit) != 0;
+		}
+	}
+
+	private static PrefixIndex<Player> build(Collection<? extends Player> players)
+	{
+		PrefixIndex.Builder<Player> builder = PrefixIndex.builder();
+		for(Player player : players)
+			builder.put(player.getName(), player);
+		return builder.build();
+	}
+}
@@ -0,0 +1,215 @@
+package com.github.hexocraftapi.command.index;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.util.PrefixIndex;
+import com.github.hexocraftapi.command.util.UUIDParser;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the loaded worlds, by name (case insensitive, sorted) and by UID.
+ *
+ * The index is kept up to date by world load and unload listeners, registered on first use
+ * for the plugin embedding this library. The sorted names are rebuilt on the first lookup
+ * following a load or an unload, so a prefix completion is a range of the sorted names
+ * and a lookup by name or by UID is a hash hit.
+ *
+ * If the listeners can't be registered (plugin disabled), the index is built from
+ * the loaded worlds on each lookup.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public final class WorldIndex implements Listener
+{
+	private WorldIndex() {};
+	private static WorldIndex t = new WorldIndex();
+	public static WorldIndex get() { t.install(); return t; }
+
+	/**
+	 * Loaded worlds by UID
+	 */
+	private final Map<UUID, World> worlds = new ConcurrentHashMap<UUID, World>();
+
+	/**
+	 * Sorted names of the loaded worlds, null when it must be rebuilt
+	 */
+	private volatile PrefixIndex<World> names = null;
+
+	/**
+	 * Modification counter of the loaded worlds
+	 */
+	private volatile long version = 0;
+
+	/**
+	 * Plugin the listeners are registered for, null if not installed
+	 */
+	private volatile Plugin plugin = null;
+
+	/**
+	 * Register the listeners and index the loaded worlds, once
+	 *
+	 * @return true if the index is maintained by the listeners
+	 */
+	private boolean install()
+	{
+		if(this.plugin != null)
+			return true;
+
+		synchronized(this)
+		{
+			if(this.plugin != null)
+				return true;
+
+			Plugin provider;
+			try
+			{
+				provider = JavaPlugin.getProvidingPlugin(WorldIndex.class);
+			}
+			catch(IllegalArgumentException | IllegalStateException e)
+			{
+				return false;
+			}
+			if(!provider.isEnabled())
+				return false;
+
+			Bukkit.getPluginManager().registerEvents(this, provider);
+			this.worlds.clear();
+			for(World world : Bukkit.getWorlds())
+				this.worlds.put(world.getUID(), world);
+			changed();
+			this.plugin = provider;
+			return true;
+		}
+	}
+
+	/**
+	 * @return Sorted names of the loaded worlds
+	 */
+	public PrefixIndex<World> names()
+	{
+		if(this.plugin == null)
+			return build(Bukkit.getWorlds());
+
+		PrefixIndex<World> index = this.names;
+		if(index == null)
+		{
+			long v = this.version;
+			index = build(this.worlds.values());
+			if(this.version == v)
+			{
+				this.names = index;
+				// Changed between the check and the write: the index may be stale
+				if(this.version != v)
+					this.names = null;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * @param world Name (case insensitive) or UID of the world
+	 *
+	 * @return The loaded world, or null
+	 */
+	public World getWorld(String world)
+	{
+		if(world == null || world.isEmpty())
+			return null;
+
+		World found = names().get(world);
+		if(found != null)
+			return found;
+
+		UUID uid = UUIDParser.parseUUID(world);
+		return uid != null ? getWorld(uid) : null;
+	}
+
+	/**
+	 * @param uid UID of the world
+	 *
+	 * @return The loaded world, or null
+	 */
+	public World getWorld(UUID uid)
+	{
+		return this.plugin != null ? this.worlds.get(uid) : Bukkit.getWorld(uid);
+	}
+
+	/**
+	 * @param prefix Beginning of the name (case insensitive)
+	 *
+	 * @return The names of the worlds starting with the prefix, sorted
+	 */
+	public List<String> complete(String prefix)
+	{
+		return names().complete(prefix);
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onWorldLoad(WorldLoadEvent event)
+	{
+		this.worlds.put(event.getWorld().getUID(), event.getWorld());
+		changed();
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onWorldUnload(WorldUnloadEvent event)
+	{
+		this.worlds.remove(event.getWorld().getUID());
+		changed();
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPluginDisable(PluginDisableEvent event)
+	{
+		// The listeners are unregistered with the plugin, they will be registered again on next use
+		if(event.getPlugin() == this.plugin)
+		{
+			this.plugin = null;
+			this.worlds.clear();
+			changed();
+		}
+	}
+
+	private void changed()
+	{
+		this.version++;
+		this.names = null;
+	}
+
+	private static PrefixIndex<World> build(Collection<? extends World> worlds)
+	{
+		PrefixIndex.Builder<World> builder = PrefixIndex.builder();
+		for(World world : worlds)
+			builder.put(world.getName(), world);
+		return builder.build();
+	}
+}
@@ -0,0 +1,132 @@
+package com.github.hexocraftapi.command.limit;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token buckets, one per sender.
+ *
+ * Each bucket is a single theoretical arrival time updated by compare-and-set (generic cell rate algorithm):
+ * a sender can use up to {@code permits} requests at once, then one more each {@code period / permits}.
+ * The buckets of idle senders are full, and are evicted from time to time.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public class RateLimiter
+{
+	private static final long MIN_SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+	private final int permits;
+	private final long interval;
+	private final long tolerance;
+	private final long sweepInterval;
+	private final ConcurrentMap<UUID,AtomicLong> buckets = new ConcurrentHashMap<>();
+	private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+	/**
+	 * @param permits Number of requests allowed per period, also the size of a burst
+	 * @param period  Period
+	 * @param unit    Unit of the period
+	 */
+	public RateLimiter(int permits, long period, TimeUnit unit)
+	{
+		if(permits <= 0) throw new IllegalArgumentException("permits must be greater than 0");
+		if(period <= 0) throw new IllegalArgumentException("period must be greater than 0");
+
+		this.permits = permits;
+		this.interval = Math.max(1, unit.toNanos(period) / permits);
+		this.tolerance = this.interval * permits;
+		this.sweepInterval = Math.max(MIN_SWEEP_INTERVAL, this.tolerance);
+	}
+
+	/**
+	 * @return Number of requests allowed per period
+	 */
+	public int getPermits()
+	{
+		return permits;
+	}
+
+	/**
+	 * Use one request of a sender
+	 *
+	 * @param sender Unique id of the sender
+	 *
+	 * @return true if the request is allowed, false if the sender is over the limit
+	 */
+	public boolean tryAcquire(UUID sender)
+	{
+		long now = System.nanoTime();
+		sweep(now);
+
+		AtomicLong bucket = this.buckets.get(sender);
+		if(bucket == null)
+		{
+			AtomicLong newBucket = new AtomicLong(now);
+			bucket = this.buckets.putIfAbsent(sender, newBucket);
+			if(bucket == null) bucket = newBucket;
+		}
+
+		for(;;)
+		{
+			long arrival = bucket.get();
+			long next = (arrival - now > 0 ? arrival : now) + this.interval;
+			if(next - now > this.tolerance)
+				return false;
+			if(bucket.compareAndSet(arrival, next))
+				return true;
+		}
+	}
+
+	/**
+	 * @return Number of senders having a bucket
+	 */
+	public int size()
+	{
+		return this.buckets.size();
+	}
+
+	/**
+	 * Remove the buckets of all senders
+	 */
+	public void clear()
+	{
+		this.buckets.clear();
+	}
+
+	/**
+	 * Remove the full buckets, at most once per sweep interval
+	 */
+	private void sweep(long now)
+	{
+		long last = this.lastSweep.get();
+		if(now - last < this.sweepInterval || !this.lastSweep.compareAndSet(last, now))
+			return;
+
+		// A full bucket is the same as no bucket
+		for(ConcurrentMap.Entry<UUID,AtomicLong> entry : this.buckets.entrySet())
+		{
+			if(entry.getValue().get() - now <= 0)
+				this.buckets.remove(entry.getKey(), entry.getValue());
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.github.hexocraftapi.command.locale;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Messages of the commands not provided by {@link com.github.hexocraftapi.message.locale.Locale}.
+ *
+ * Same convention as Locale: one public field per message, in English by default,
+ * replaced by the plugin to translate it.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public class CommandLocale
+{
+	// Help
+	public static String command_did_you_mean = "Did you mean";
+
+	// Statistics
+	public static String command_stats_description = "Display the slowest and the most frequent commands";
+	public static String command_stats_count = "Number of commands to display";
+	public static String command_stats_not_measured = "The commands are not measured";
+	public static String command_stats_slowest = "Slowest commands";
+	public static String command_stats_most_frequent = "Most frequent commands";
+	public static String command_stats_no_data = "No command executed yet";
+
+	// Rate limit
+	public static String command_rate_limited = "You are sending commands too fast, please wait a moment.";
+
+	// Batch
+	public static String command_batch_description = "Execute a script of commands";
+	public static String command_batch_file = "Script, relative to the data folder of the plugin";
+	public static String command_batch_cant_read = "Can't read the script";
+	public static String command_batch_executed = "Script executed";
+	public static String command_batch_lines = "lines";
+	public static String command_batch_succeeded = "succeeded";
+	public static String command_batch_failed = "failed";
+	public static String command_batch_skipped = "skipped";
+	public static String command_batch_line = "Line";
+
+	// Reload
+	public static String command_reload_commands_reloaded = "Commands reloaded";
+	public static String command_reload_plugins_reloaded = "Plugins reloaded";
+	public static String command_reload_failed = "Failed to reload the commands";
+
+	private CommandLocale() {}
+}
@@ -0,0 +1,69 @@
+package com.github.hexocraftapi.command.message;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.CommandScript;
+import com.github.hexocraftapi.command.locale.CommandLocale;
+import com.github.hexocraftapi.message.Line;
+import com.github.hexocraftapi.message.Message;
+import com.github.hexocraftapi.message.Sentence;
+import com.github.hexocraftapi.message.predifined.MessageColor;
+
+/**
+ * This message is used to display the aggregated results of a script
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public class MessageBatch extends Message
+{
+	private final String script;
+	private final CommandScript.Result result;
+
+	public MessageBatch(String script, CommandScript.Result result)
+	{
+		super();
+
+		this.script = script;
+		this.result = result;
+	}
+
+	public MessageBatch build()
+	{
+		// Summary
+		Line summary = new Line();
+		summary.add(new Sentence(CommandLocale.command_batch_executed + " ").color(MessageColor.INFO.color()));
+		summary.add(new Sentence(script).color(MessageColor.COMMAND.color()));
+		summary.add(new Sentence(" : " + result.getExecuted() + " " + CommandLocale.command_batch_lines
+								 + ", " + result.getSucceeded() + " " + CommandLocale.command_batch_succeeded
+								 + ", " + result.getFailed() + " " + CommandLocale.command_batch_failed
+								 + ", " + result.getSkipped() + " " + CommandLocale.command_batch_skipped
+								 + " (" + String.format("%.1fms", result.getNanos() / 1000000d) + ")").color(MessageColor.DESCRIPTION.color()));
+		add(summary);
+
+		// First failed lines
+		for(CommandScript.Failure failure : result.getFailures())
+		{
+			Line line = new Line();
+			line.add(new Sentence("  " + CommandLocale.command_batch_line + " " + failure.getLineNumber() + " ").color(MessageColor.ERROR.color()));
+			line.add(new Sentence(failure.getLine()).color(MessageColor.COMMAND.color()));
+			line.add(new Sentence(" : " + failure.getOutcome().name().toLowerCase().replace('_', ' ')).color(MessageColor.DESCRIPTION.color()));
+			add(line);
+		}
+
+		return this;
+	}
+}
@@ -20,6 +20,7 @@ import com.github.hexocraftapi.command.Command;
 import com.github.hexocraftapi.command.CommandArgument;
 import com.github.hexocraftapi.command.CommandInfo;
 import com.github.hexocraftapi.command.errors.CommandErrorType;
+import com.github.hexocraftapi.command.locale.CommandLocale;
 import com.github.hexocraftapi.message.Line;
 import com.github.hexocraftapi.message.Message;
 import com.github.hexocraftapi.message.Sentence;
@@ -77,6 +78,16 @@ public class MessageHelp extends Message
 				this.add(new Line(new Sentence(Locale.command_error).color(MessageColor.ERROR.color())));
 				this.add(new Line(new Sentence(Locale.command_use_help).color(MessageColor.WARNING.color())));
 			}
+
+			// Closest valid value
+			if(commandInfo.getSuggestion() != null)
+			{
+				Line suggestionLine = new Line();
+				suggestionLine.add(new Sentence(CommandLocale.command_did_you_mean + " ").color(MessageColor.WARNING.color()));
+				suggestionLine.add(new Sentence(commandInfo.getSuggestion()).color(MessageColor.COMMAND.color()));
+				suggestionLine.add(new Sentence(" ?").color(MessageColor.WARNING.color()));
+				this.add(suggestionLine);
+			}
 		}
 
 		// Lines of the message
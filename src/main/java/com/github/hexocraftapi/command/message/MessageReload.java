@@ -0,0 +1,80 @@
+package com.github.hexocraftapi.command.message;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.message.Line;
+import com.github.hexocraftapi.message.Message;
+import com.github.hexocraftapi.message.Sentence;
+import com.github.hexocraftapi.message.predifined.MessageColor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This message is used to display the time spent to reload the commands or the plugins
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public class MessageReload extends Message
+{
+	private final String title;
+	private final Map<String, Long> times = new LinkedHashMap<String, Long>();
+
+	public MessageReload(String title)
+	{
+		super();
+
+		this.title = title;
+	}
+
+	/**
+	 * @param name  Name of the reloaded element
+	 * @param nanos Time spent to reload it
+	 *
+	 * @return this
+	 */
+	public MessageReload time(String name, long nanos)
+	{
+		Long previous = times.get(name);
+		times.put(name, previous != null ? previous + nanos : nanos);
+		return this;
+	}
+
+	public MessageReload build()
+	{
+		long total = 0;
+		for(long nanos : times.values())
+			total += nanos;
+
+		add(new Line(new Sentence(title + " (" + millis(total) + ")").color(MessageColor.INFO.color())));
+		for(Map.Entry<String, Long> entry : times.entrySet())
+		{
+			Line line = new Line();
+			line.add(new Sentence(Character.toString('\u00BB') + " ").color(MessageColor.COMMAND.color()));
+			line.add(new Sentence(entry.getKey()).color(MessageColor.COMMAND.color()));
+			line.add(new Sentence("  " + millis(entry.getValue())).color(MessageColor.DESCRIPTION.color()));
+			add(line);
+		}
+
+		return this;
+	}
+
+	private static String millis(long nanos)
+	{
+		return String.format("%.2fms", nanos / 1000000d);
+	}
+}
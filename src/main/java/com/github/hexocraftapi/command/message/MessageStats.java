@@ -0,0 +1,99 @@
+package com.github.hexocraftapi.command.message;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.locale.CommandLocale;
+import com.github.hexocraftapi.command.metrics.CommandMetrics;
+import com.github.hexocraftapi.command.metrics.CommandOutcome;
+import com.github.hexocraftapi.command.metrics.CommandPathMetrics;
+import com.github.hexocraftapi.command.metrics.CommandPhase;
+import com.github.hexocraftapi.command.metrics.LatencyHistogram;
+import com.github.hexocraftapi.message.Line;
+import com.github.hexocraftapi.message.Message;
+import com.github.hexocraftapi.message.Sentence;
+import com.github.hexocraftapi.message.predifined.MessageColor;
+
+import java.util.List;
+
+/**
+ * This message is used to display the slowest and the most frequent commands
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public class MessageStats extends Message
+{
+	private final CommandMetrics metrics;
+	private final int count;
+
+	public MessageStats(CommandMetrics metrics, int count)
+	{
+		super();
+
+		this.metrics = metrics;
+		this.count = count;
+	}
+
+	public MessageStats build()
+	{
+		List<CommandPathMetrics> slowest = metrics.getSlowest(count);
+		List<CommandPathMetrics> mostFrequent = metrics.getMostFrequent(count);
+
+		if(slowest.isEmpty() && mostFrequent.isEmpty())
+		{
+			add(new Line(new Sentence(CommandLocale.command_stats_no_data).color(MessageColor.WARNING.color())));
+			return this;
+		}
+
+		add(new Line(new Sentence(CommandLocale.command_stats_slowest).color(MessageColor.INFO.color())));
+		for(CommandPathMetrics commandMetrics : slowest)
+			add(newLine(commandMetrics));
+
+		add(new Line(""));
+		add(new Line(new Sentence(CommandLocale.command_stats_most_frequent).color(MessageColor.INFO.color())));
+		for(CommandPathMetrics commandMetrics : mostFrequent)
+			add(newLine(commandMetrics));
+
+		return this;
+	}
+
+	private Line newLine(CommandPathMetrics commandMetrics)
+	{
+		LatencyHistogram total = commandMetrics.getLatency(CommandPhase.TOTAL);
+		LatencyHistogram handler = commandMetrics.getLatency(CommandPhase.HANDLER);
+		long invocations = commandMetrics.getInvocations();
+		long success = commandMetrics.getOutcome(CommandOutcome.SUCCESS);
+		long exceptions = commandMetrics.getOutcome(CommandOutcome.EXCEPTION);
+		long refused = commandMetrics.getOutcome(CommandOutcome.PERMISSION_REFUSED);
+
+		Line line = new Line();
+		line.add(new Sentence(Character.toString('\u00BB') + " ").color(MessageColor.COMMAND.color()));
+		line.add(new Sentence("/" + commandMetrics.getPath()).color(MessageColor.COMMAND.color()));
+		line.add(new Sentence(" x" + invocations
+							  + "  mean " + millis(total.getMean())
+							  + "  p99 " + millis(total.getPercentile(0.99d))
+							  + "  handler " + millis(handler.getMean())
+							  + "  ok " + success + "/" + invocations
+							  + (refused > 0 ? "  refused " + refused : "")
+							  + (exceptions > 0 ? "  exceptions " + exceptions : "")).color(MessageColor.DESCRIPTION.color()));
+		return line;
+	}
+
+	private static String millis(long nanos)
+	{
+		return String.format("%.2fms", nanos / 1000000d);
+	}
+}
@@ -0,0 +1,204 @@
+package com.github.hexocraftapi.command.metrics;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.Command;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Registry of the invocation counts, outcomes and latencies of the commands of a tree.
+ *
+ * The metrics are kept by command path, so a command replaced by another one with the same path
+ * (reloaded tree) keeps its metrics. Counts are always recorded. Latencies are recorded for a sample of the invocations,
+ * see {@link #setSampleRate(double)}. All counters are striped ({@link java.util.concurrent.atomic.LongAdder}).
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public class CommandMetrics
+{
+	private final ConcurrentMap<String, CommandPathMetrics> metrics = new ConcurrentHashMap<>();
+	private volatile double sampleRate;
+
+	public CommandMetrics()
+	{
+		this(1d);
+	}
+
+	/**
+	 * @param sampleRate Part of the invocations whose latencies are recorded, between 0 and 1
+	 */
+	public CommandMetrics(double sampleRate)
+	{
+		setSampleRate(sampleRate);
+	}
+
+	/**
+	 * @return Part of the invocations whose latencies are recorded
+	 */
+	public double getSampleRate()
+	{
+		return sampleRate;
+	}
+
+	/**
+	 * @param sampleRate Part of the invocations whose latencies are recorded, between 0 and 1
+	 */
+	public void setSampleRate(double sampleRate)
+	{
+		if(sampleRate < 0d || sampleRate > 1d) throw new IllegalArgumentException("sampleRate must be between 0 and 1");
+		this.sampleRate = sampleRate;
+	}
+
+	/**
+	 * @return true if the latencies of the current invocation must be recorded
+	 */
+	public boolean sample()
+	{
+		double rate = sampleRate;
+		return rate >= 1d || (rate > 0d && ThreadLocalRandom.current().nextDouble() < rate);
+	}
+
+	/**
+	 * @param command The command
+	 *
+	 * @return Metrics of the command
+	 */
+	public CommandPathMetrics get(Command<?> command)
+	{
+		String path = command.getPath();
+		CommandPathMetrics commandMetrics = metrics.get(path);
+		if(commandMetrics == null)
+		{
+			CommandPathMetrics newMetrics = new CommandPathMetrics(path);
+			commandMetrics = metrics.putIfAbsent(path, newMetrics);
+			if(commandMetrics == null) commandMetrics = newMetrics;
+		}
+		return commandMetrics;
+	}
+
+	/**
+	 * Remove the metrics of a command path and of its sub commands
+	 *
+	 * @param path Path of the command
+	 */
+	public void remove(String path)
+	{
+		String prefix = path + " ";
+		for(String key : metrics.keySet())
+		{
+			if(key.equals(path) || key.startsWith(prefix))
+				metrics.remove(key);
+		}
+	}
+
+	/**
+	 * @param command Executed command
+	 * @param outcome Outcome of the execution
+	 */
+	public void recordExecution(Command<?> command, CommandOutcome outcome)
+	{
+		get(command).recordExecution(outcome);
+	}
+
+	/**
+	 * @param command Completed command
+	 */
+	public void recordCompletion(Command<?> command)
+	{
+		get(command).recordCompletion();
+	}
+
+	/**
+	 * @param command Command
+	 * @param phase   Timed phase
+	 * @param nanos   Latency in nanoseconds
+	 */
+	public void recordLatency(Command<?> command, CommandPhase phase, long nanos)
+	{
+		get(command).recordLatency(phase, nanos);
+	}
+
+	/**
+	 * @return Metrics of all the commands invoked at least once
+	 */
+	public List<CommandPathMetrics> getAll()
+	{
+		return new ArrayList<>(metrics.values());
+	}
+
+	/**
+	 * @param count Maximum number of commands
+	 *
+	 * @return The commands having the highest mean execution time
+	 */
+	public List<CommandPathMetrics> getSlowest(int count)
+	{
+		return top(count, new Comparator<CommandPathMetrics>()
+		{
+			@Override
+			public int compare(CommandPathMetrics a, CommandPathMetrics b)
+			{
+				return Long.compare(b.getLatency(CommandPhase.TOTAL).getMean(), a.getLatency(CommandPhase.TOTAL).getMean());
+			}
+		});
+	}
+
+	/**
+	 * @param count Maximum number of commands
+	 *
+	 * @return The most executed commands
+	 */
+	public List<CommandPathMetrics> getMostFrequent(int count)
+	{
+		return top(count, new Comparator<CommandPathMetrics>()
+		{
+			@Override
+			public int compare(CommandPathMetrics a, CommandPathMetrics b)
+			{
+				return Long.compare(b.getInvocations(), a.getInvocations());
+			}
+		});
+	}
+
+	/**
+	 * Clear all the metrics
+	 */
+	public void reset()
+	{
+		for(CommandPathMetrics commandMetrics : metrics.values())
+			commandMetrics.reset();
+	}
+
+	private List<CommandPathMetrics> top(int count, Comparator<CommandPathMetrics> comparator)
+	{
+		List<CommandPathMetrics> all = new ArrayList<>();
+		for(CommandPathMetrics commandMetrics : metrics.values())
+		{
+			if(commandMetrics.getInvocations() > 0)
+				all.add(commandMetrics);
+		}
+		Collections.sort(all, comparator);
+		return all.size() > count ? all.subList(0, count) : all;
+	}
+}
@@ -0,0 +1,51 @@
+package com.github.hexocraftapi.command.metrics;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.errors.CommandErrorType;
+
+/**
+ * Outcome of a command invocation
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public enum CommandOutcome
+{
+	SUCCESS,
+	FAILURE,
+	NOT_ENOUGH_ARGUMENTS,
+	TOO_MANY_ARGUMENTS,
+	MISMATCH_ARGUMENTS,
+	PERMISSION_REFUSED,
+	RATE_LIMITED,
+	EXCEPTION;
+
+	/**
+	 * @param error Error of the command
+	 *
+	 * @return The corresponding outcome
+	 */
+	public static CommandOutcome of(CommandErrorType error)
+	{
+		switch(error)
+		{
+			case NOT_ENOUGH_ARGUMENTS: return NOT_ENOUGH_ARGUMENTS;
+			case TOO_MANY_ARGUMENTS: return TOO_MANY_ARGUMENTS;
+			default: return MISMATCH_ARGUMENTS;
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package com.github.hexocraftapi.command.metrics;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of one command of a tree
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public final class CommandPathMetrics
+{
+	private final String path;
+	private final LongAdder invocations = new LongAdder();
+	private final LongAdder completions = new LongAdder();
+	private final LongAdder[] outcomes = new LongAdder[CommandOutcome.values().length];
+	private final LatencyHistogram[] latencies = new LatencyHistogram[CommandPhase.values().length];
+
+	CommandPathMetrics(String path)
+	{
+		this.path = path;
+		for(int i = 0; i < outcomes.length; i++)
+			outcomes[i] = new LongAdder();
+		for(int i = 0; i < latencies.length; i++)
+			latencies[i] = new LatencyHistogram();
+	}
+
+	/**
+	 * @return Path of the command, from the main command
+	 */
+	public String getPath()
+	{
+		return path;
+	}
+
+	/**
+	 * @return Number of executions
+	 */
+	public long getInvocations()
+	{
+		return invocations.sum();
+	}
+
+	/**
+	 * @return Number of tab completions
+	 */
+	public long getCompletions()
+	{
+		return completions.sum();
+	}
+
+	/**
+	 * @param outcome Outcome
+	 *
+	 * @return Number of executions having this outcome
+	 */
+	public long getOutcome(CommandOutcome outcome)
+	{
+		return outcomes[outcome.ordinal()].sum();
+	}
+
+	/**
+	 * @param phase Phase
+	 *
+	 * @return Sampled latencies of the phase
+	 */
+	public LatencyHistogram getLatency(CommandPhase phase)
+	{
+		return latencies[phase.ordinal()];
+	}
+
+	void recordExecution(CommandOutcome outcome)
+	{
+		invocations.increment();
+		outcomes[outcome.ordinal()].increment();
+	}
+
+	void recordCompletion()
+	{
+		completions.increment();
+	}
+
+	void recordLatency(CommandPhase phase, long nanos)
+	{
+		latencies[phase.ordinal()].record(nanos);
+	}
+
+	void reset()
+	{
+		invocations.reset();
+		completions.reset();
+		for(LongAdder outcome : outcomes)
+			outcome.reset();
+		for(LatencyHistogram latency : latencies)
+			latency.reset();
+	}
+}
@@ -0,0 +1,46 @@
+package com.github.hexocraftapi.command.metrics;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Timed phase of a command invocation
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public enum CommandPhase
+{
+	/**
+	 * Tokenization, routing and parsing of the arguments
+	 */
+	PARSE,
+	/**
+	 * Permission checks
+	 */
+	PERMISSION,
+	/**
+	 * Execution of onCommand
+	 */
+	HANDLER,
+	/**
+	 * Whole execution
+	 */
+	TOTAL,
+	/**
+	 * Whole tab completion
+	 */
+	COMPLETION
+}
@@ -0,0 +1,314 @@
+package com.github.hexocraftapi.command.metrics;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.Command;
+import com.github.hexocraftapi.command.CommandInfo;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watch the synchronous command handlers running over their tick budget.
+ *
+ * When a handler is still running once its budget is elapsed, a monitor thread takes a sample
+ * of the stack of the thread running it. When the handler returns, a report naming the command,
+ * the sender and the arguments is logged, at most once per command and per report interval.
+ *
+ * The monitor thread is stopped by {@link #shutdown()}, called when the plugin embedding this library is disabled.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public class CommandWatchdog
+{
+	/**
+	 * Duration of a server tick, in milliseconds
+	 */
+	public static final long TICK = 50;
+
+	/**
+	 * Stack of a watch whose handler has returned: no stack can be published anymore
+	 */
+	private static final StackTraceElement[] ENDED = new StackTraceElement[0];
+
+	private final Logger logger;
+	private volatile long defaultBudget = TICK;
+	private volatile long reportInterval = TimeUnit.SECONDS.toMillis(60);
+
+	// Handler currently watched, the previous one if handlers are nested
+	private final AtomicReference<Watch> current = new AtomicReference<>();
+	private final ConcurrentMap<String,Report> reports = new ConcurrentHashMap<>();
+	private final Thread monitor;
+	private volatile boolean running = true;
+
+	/**
+	 * Listener shutting down the watchdog when the plugin is disabled, null if not registered
+	 */
+	private Listener disableListener;
+
+	/**
+	 * @param logger Logger receiving the reports
+	 */
+	public CommandWatchdog(Logger logger)
+	{
+		this.logger = logger;
+		this.monitor = new Thread(this::monitor, "Command-Watchdog");
+		this.monitor.setDaemon(true);
+		this.monitor.start();
+		shutdownOnDisable();
+	}
+
+	/**
+	 * @return Budget of the commands not defining their own, in milliseconds
+	 */
+	public long getDefaultBudget()
+	{
+		return defaultBudget;
+	}
+
+	/**
+	 * @param defaultBudget Budget of the commands not defining their own, in milliseconds
+	 */
+	public void setDefaultBudget(long defaultBudget)
+	{
+		if(defaultBudget <= 0) throw new IllegalArgumentException("defaultBudget must be greater than 0");
+		this.defaultBudget = defaultBudget;
+	}
+
+	/**
+	 * @return Minimum interval between two reports of the same command, in milliseconds
+	 */
+	public long getReportInterval()
+	{
+		return reportInterval;
+	}
+
+	/**
+	 * @param reportInterval Minimum interval between two reports of the same command, in milliseconds
+	 */
+	public void setReportInterval(long reportInterval)
+	{
+		if(reportInterval < 0) throw new IllegalArgumentException("reportInterval must be positive");
+		this.reportInterval = reportInterval;
+	}
+
+	/**
+	 * Stop the monitor thread
+	 */
+	public void shutdown()
+	{
+		this.running = false;
+		LockSupport.unpark(this.monitor);
+
+		synchronized(this)
+		{
+			if(this.disableListener != null)
+			{
+				HandlerList.unregisterAll(this.disableListener);
+				this.disableListener = null;
+			}
+		}
+	}
+
+	/**
+	 * Register a listener shutting down the watchdog when the plugin embedding this library is disabled
+	 */
+	private synchronized void shutdownOnDisable()
+	{
+		final Plugin plugin;
+		try
+		{
+			plugin = JavaPlugin.getProvidingPlugin(CommandWatchdog.class);
+		}
+		catch(IllegalArgumentException | IllegalStateException e)
+		{
+			return;
+		}
+		if(!plugin.isEnabled())
+			return;
+
+		this.disableListener = new Listener() {};
+		Bukkit.getPluginManager().registerEvent(PluginDisableEvent.class, this.disableListener, EventPriority.MONITOR, (listener, event) -> {
+			if(((PluginDisableEvent) event).getPlugin() == plugin)
+				shutdown();
+		}, plugin);
+	}
+
+	/**
+	 * Remove the report state of a command path and of its sub commands
+	 *
+	 * @param path Path of the command
+	 */
+	public void remove(String path)
+	{
+		String prefix = path + " ";
+		for(String key : this.reports.keySet())
+		{
+			if(key.equals(path) || key.startsWith(prefix))
+				this.reports.remove(key);
+		}
+	}
+
+	/**
+	 * Start watching a handler running on the current thread
+	 *
+	 * @param commandInfo Info about the command
+	 *
+	 * @return The watch to pass to {@link #end(Watch)}
+	 */
+	public Watch begin(CommandInfo commandInfo)
+	{
+		Command<?> command = commandInfo.getCommand();
+		long budget = command.getTickBudget() > 0 ? command.getTickBudget() : this.defaultBudget;
+
+		Watch watch = new Watch(commandInfo, Thread.currentThread(), budget, this.current.get());
+		this.current.set(watch);
+		LockSupport.unpark(this.monitor);
+		return watch;
+	}
+
+	/**
+	 * Stop watching a handler, and report it if it ran over its budget
+	 *
+	 * @param watch Watch returned by {@link #begin(CommandInfo)}
+	 */
+	public void end(Watch watch)
+	{
+		long elapsed = System.nanoTime() - watch.start;
+		this.current.compareAndSet(watch, watch.previous);
+		if(watch.previous != null)
+			LockSupport.unpark(this.monitor);
+
+		// Close the watch: a stack sampled from now on is not the one of the handler
+		StackTraceElement[] stack = watch.stack.getAndSet(ENDED);
+		if(elapsed > watch.deadline - watch.start)
+			report(watch, elapsed, stack);
+	}
+
+	private void monitor()
+	{
+		while(this.running)
+		{
+			Watch watch = this.current.get();
+			if(watch == null || watch.stack.get() != null)
+			{
+				LockSupport.park(this);
+				continue;
+			}
+
+			long remaining = watch.deadline - System.nanoTime();
+			if(remaining > 0)
+			{
+				LockSupport.parkNanos(this, remaining);
+				continue;
+			}
+
+			// Still the running handler: sample its stack, kept only if the watch is not closed meanwhile
+			if(this.current.get() == watch)
+				watch.stack.compareAndSet(null, watch.thread.getStackTrace());
+		}
+	}
+
+	private void report(Watch watch, long elapsed, StackTraceElement[] stack)
+	{
+		Command<?> command = watch.commandInfo.getCommand();
+
+		// Rate limit
+		String path = command.getPath();
+		Report report = this.reports.get(path);
+		if(report == null)
+		{
+			Report newReport = new Report();
+			report = this.reports.putIfAbsent(path, newReport);
+			if(report == null) report = newReport;
+		}
+		long now = System.currentTimeMillis();
+		long last = report.last.get();
+		if(last != 0 && now - last < this.reportInterval)
+		{
+			report.suppressed.incrementAndGet();
+			return;
+		}
+		if(!report.last.compareAndSet(last, now))
+		{
+			report.suppressed.incrementAndGet();
+			return;
+		}
+		long suppressed = report.suppressed.getAndSet(0);
+
+		CommandSender sender = watch.commandInfo.getSender();
+		StringBuilder message = new StringBuilder();
+		message.append("Command '/").append(path).append("' took ").append(TimeUnit.NANOSECONDS.toMillis(elapsed))
+			   .append("ms, over its budget of ").append(TimeUnit.NANOSECONDS.toMillis(watch.deadline - watch.start)).append("ms");
+		message.append("\n  Sender: ").append(sender.getClass().getSimpleName()).append(' ').append(sender.getName());
+		message.append("\n  Arguments: ").append(String.join(" ", watch.commandInfo.getArgs()));
+		if(suppressed > 0)
+			message.append("\n  Reports suppressed since the last one: ").append(suppressed);
+
+		if(stack != null)
+		{
+			message.append("\n  Stack of thread '").append(watch.thread.getName()).append("' once over budget:");
+			for(StackTraceElement element : stack)
+				message.append("\n    at ").append(element);
+		}
+
+		this.logger.log(Level.WARNING, message.toString());
+	}
+
+	/**
+	 * A watched handler
+	 */
+	public static final class Watch
+	{
+		private final CommandInfo commandInfo;
+		private final Thread thread;
+		private final long start;
+		private final long deadline;
+		private final Watch previous;
+		// Stack sampled once over budget, ENDED once the handler has returned
+		private final AtomicReference<StackTraceElement[]> stack = new AtomicReference<>();
+
+		private Watch(CommandInfo commandInfo, Thread thread, long budget, Watch previous)
+		{
+			this.commandInfo = commandInfo;
+			this.thread = thread;
+			this.start = System.nanoTime();
+			this.deadline = this.start + TimeUnit.MILLISECONDS.toNanos(budget);
+			this.previous = previous;
+		}
+	}
+
+	private static final class Report
+	{
+		private final AtomicLong last = new AtomicLong();
+		private final AtomicLong suppressed = new AtomicLong();
+	}
+}
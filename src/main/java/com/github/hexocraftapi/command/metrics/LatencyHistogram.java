@@ -0,0 +1,112 @@
+package com.github.hexocraftapi.command.metrics;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Low contention latency histogram with power of two buckets (in nanoseconds).
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public final class LatencyHistogram
+{
+	private static final int BUCKETS = 40;
+
+	private final LongAdder[] buckets = new LongAdder[BUCKETS];
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+
+	public LatencyHistogram()
+	{
+		for(int i = 0; i < BUCKETS; i++)
+			buckets[i] = new LongAdder();
+	}
+
+	/**
+	 * @param nanos Latency to record
+	 */
+	public void record(long nanos)
+	{
+		if(nanos < 0) nanos = 0;
+		int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+		buckets[bucket].increment();
+		count.increment();
+		sum.add(nanos);
+	}
+
+	/**
+	 * @return Number of recorded latencies
+	 */
+	public long getCount()
+	{
+		return count.sum();
+	}
+
+	/**
+	 * @return Sum of the recorded latencies in nanoseconds
+	 */
+	public long getSum()
+	{
+		return sum.sum();
+	}
+
+	/**
+	 * @return Mean latency in nanoseconds
+	 */
+	public long getMean()
+	{
+		long n = count.sum();
+		return n == 0 ? 0 : sum.sum() / n;
+	}
+
+	/**
+	 * @param percentile Percentile, between 0 and 1
+	 *
+	 * @return Upper bound of the bucket containing the percentile, in nanoseconds
+	 */
+	public long getPercentile(double percentile)
+	{
+		long[] counts = new long[BUCKETS];
+		long total = 0;
+		for(int i = 0; i < BUCKETS; i++)
+			total += counts[i] = buckets[i].sum();
+		if(total == 0)
+			return 0;
+
+		long rank = (long) Math.ceil(percentile * total);
+		long seen = 0;
+		for(int i = 0; i < BUCKETS; i++)
+		{
+			seen += counts[i];
+			if(seen >= rank)
+				return i == 0 ? 0 : (1L << i) - 1;
+		}
+		return Long.MAX_VALUE;
+	}
+
+	/**
+	 * Clear the histogram
+	 */
+	public void reset()
+	{
+		for(LongAdder bucket : buckets)
+			bucket.reset();
+		count.reset();
+		sum.reset();
+	}
+}
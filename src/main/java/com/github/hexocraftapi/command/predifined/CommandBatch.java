@@ -0,0 +1,75 @@
+package com.github.hexocraftapi.command.predifined;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.Command;
+import com.github.hexocraftapi.command.CommandArgument;
+import com.github.hexocraftapi.command.CommandInfo;
+import com.github.hexocraftapi.command.CommandScript;
+import com.github.hexocraftapi.command.locale.CommandLocale;
+import com.github.hexocraftapi.command.message.MessageBatch;
+import com.github.hexocraftapi.command.type.ArgTypeString;
+import com.github.hexocraftapi.message.predifined.message.ErrorMessage;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.IOException;
+
+/**
+ * Execute a script of commands stored in the data folder of the plugin,
+ * see {@link CommandScript}.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public class CommandBatch<PluginClass extends JavaPlugin> extends Command<PluginClass>
+{
+	private final CommandArgument<String> fileArgument;
+
+	public CommandBatch(PluginClass plugin, String permission)
+	{
+		super("batch", plugin);
+		this.setPermission(permission);
+		this.setDescription(CommandLocale.command_batch_description);
+		this.fileArgument = new CommandArgument<String>("file", ArgTypeString.get(), true, true, CommandLocale.command_batch_file);
+		this.addArgument(this.fileArgument);
+	}
+
+	/**
+	 * Executes the given command, returning its success
+	 *
+	 * @param commandInfo Info about the command
+	 *
+	 * @return true if a valid command, otherwise false
+	 */
+	@Override
+	public boolean onCommand(CommandInfo commandInfo)
+	{
+		String fileName = commandInfo.getArg(this.fileArgument);
+		Command<?> command = getParentCommand() != null ? getParentCommand() : this;
+
+		try
+		{
+			CommandScript.Result result = new CommandScript(command).run(commandInfo.getSender(), fileName);
+			new MessageBatch(fileName, result).build().send(commandInfo.getSenders());
+			return result.getFailed() == 0;
+		}
+		catch(IOException | IllegalArgumentException | IllegalStateException ex)
+		{
+			new ErrorMessage(CommandLocale.command_batch_cant_read + " '" + fileName + "' : " + ex.getMessage()).send(commandInfo.getSenders());
+			return false;
+		}
+	}
+}
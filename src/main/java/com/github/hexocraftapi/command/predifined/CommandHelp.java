@@ -37,6 +37,8 @@ import com.google.common.collect.Lists;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -48,20 +50,36 @@ public class CommandHelp<PluginClass extends JavaPlugin> extends Command<PluginC
 	static String HELP = Locale.command_help;
 	static String PAGE = Locale.command_page;
 
+	private final CommandArgument<Integer> pageArgument;
+
 	private boolean displayArguments = true;
 	private boolean displayDescription = true;
 	private boolean displayInlineDescription = false;
 
+	// Rendered help pages, by visibility
+	private static final int MAX_CACHED_PAGES = 64;
+	private final Map<HelpKey,HelpLines> cache = new LinkedHashMap<HelpKey,HelpLines>(16, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<HelpKey,HelpLines> eldest)
+		{
+			return size() > MAX_CACHED_PAGES;
+		}
+	};
+	private long cacheVersion = -1;
+	private Command<?> cacheCommand = null;
+
 	public CommandHelp(PluginClass plugin)
 	{
 		super("help", plugin);
 		this.setAliases(Lists.newArrayList(HELP, "help", "h", "?"));
-		this.addArgument(new CommandArgument<Integer>(PAGE, ArgTypeInteger.get(), 1, false, false, Locale.help_page_number));
+		this.pageArgument = new CommandArgument<Integer>(PAGE, ArgTypeInteger.get(), 1, false, false, Locale.help_page_number);
+		this.addArgument(this.pageArgument);
 	}
 
-	public void setDisplayArguments(boolean displayArguments) { this.displayArguments = displayArguments; }
-	public void setDisplayDescription(boolean displayDescription) { this.displayDescription = displayDescription; }
-	public void setDisplayInlineDescription(boolean displayInlineDescription) { this.displayInlineDescription = displayInlineDescription; }
+	public void setDisplayArguments(boolean displayArguments) { this.displayArguments = displayArguments; clearCache(); }
+	public void setDisplayDescription(boolean displayDescription) { this.displayDescription = displayDescription; clearCache(); }
+	public void setDisplayInlineDescription(boolean displayInlineDescription) { this.displayInlineDescription = displayInlineDescription; clearCache(); }
 
 	/**
 	 * Executes the given command, returning its success
@@ -73,9 +91,6 @@ public class CommandHelp<PluginClass extends JavaPlugin> extends Command<PluginC
 	@Override
 	public boolean onCommand(CommandInfo commandInfo)
 	{
-		//List<Data> datas = Lists.newArrayList();
-		HelpLines helpLines = new HelpLines(Chat.CHAT_PAGE_HEIGHT-1);
-
 		// Command
 		Command<?> command = commandInfo.getCommand();
 
@@ -84,39 +99,13 @@ public class CommandHelp<PluginClass extends JavaPlugin> extends Command<PluginC
 
 		// Main command
 		Command<?> mainCommand = command.getName().toLowerCase().equals("help") ? parentCommand : command;
-		if(mainCommand.getMaxArgs() > 0)
-		{
-			CommandInfo mainCommandInfo = new CommandInfo(commandInfo.getSender(), mainCommand, mainCommand.getName(), new String[0], null);
-			MessageHelp mainHelp = new MessageHelp(mainCommandInfo);
-			mainHelp.setDisplayArguments(this.displayArguments);
-			mainHelp.setDisplayDescription(this.displayDescription);
-			mainHelp.setDisplayInlineDescription(this.displayInlineDescription);
-
-			if(command.getPermission()==null)
-				helpLines.add(new HelpLine(mainCommandInfo, mainHelp));
-			else if(command.getPermission()!=null && command.getPermission().isEmpty()==false && commandInfo.getSender().hasPermission(command.getPermission())==true)
-				helpLines.add(new HelpLine(mainCommandInfo, mainHelp));
-		}
 
-		// Sub command
-		for(Map.Entry<String,Command<?>> entry : mainCommand.getSubCommands().entrySet())
-		{
-			Command<?> subCommand = entry.getValue();
-
-			CommandInfo subCommandInfo = new CommandInfo(commandInfo.getSender(), subCommand, subCommand.getName(), new String[0], null);
-			MessageHelp subHelp = new MessageHelp(subCommandInfo);
-			subHelp.setDisplayArguments(this.displayArguments);
-			subHelp.setDisplayDescription(this.displayDescription);
-			subHelp.setDisplayInlineDescription(this.displayInlineDescription);
-
-			if(subCommandInfo.getCommand().getPermission()==null || subCommandInfo.getCommand().getPermission().isEmpty()==true)
-				helpLines.add(new HelpLine(subCommandInfo, subHelp));
-			else if(subCommandInfo.getCommand().getPermission().isEmpty()==false && commandInfo.getSender().hasPermission(subCommandInfo.getCommand().getPermission())==true)
-				helpLines.add(new HelpLine(subCommandInfo, subHelp));
-		}
+		// Help pages, rendered once per tree version and visibility
+		HelpLines helpLines = getHelpLines(commandInfo, command, mainCommand);
 
 		// Page requested
-		int page = Integer.parseInt(commandInfo.hasNamedArg(PAGE)==true?commandInfo.getNamedArg(PAGE):"1");
+		Integer pageArg = commandInfo.getArg(this.pageArgument);
+		int page = pageArg != null ? pageArg : 1;
 		int maxPages = helpLines.currentPage;
 
 		// Check page number
@@ -136,12 +125,112 @@ public class CommandHelp<PluginClass extends JavaPlugin> extends Command<PluginC
 		for(HelpLine line : helpLines.lines)
 		{
 			if(line.page==page)
-				line.message.send(line.commandInfo.getSenders());
+				line.message.send(commandInfo.getSenders());
 		}
 
 		return true;
 	}
 
+	/**
+	 * Get the help lines visible by the sender, from the cache if they have already been rendered
+	 */
+	private HelpLines getHelpLines(CommandInfo commandInfo, Command<?> command, Command<?> mainCommand)
+	{
+		boolean isPlayer = commandInfo.getPlayer()!=null;
+		long version = mainCommand.getTreeVersion();
+
+		// Visibility of the main command and of each sub command
+		BitSet visible = new BitSet();
+		if(mainCommand.getMaxArgs() > 0 && isMainCommandVisible(commandInfo, command))
+			visible.set(0);
+		int i = 1;
+		for(Command<?> subCommand : mainCommand.getSubCommands().values())
+		{
+			if(isSubCommandVisible(commandInfo, subCommand))
+				visible.set(i);
+			i++;
+		}
+
+		HelpKey key = new HelpKey(isPlayer, visible);
+		synchronized(this.cache)
+		{
+			// The tree changed since the pages have been rendered
+			if(this.cacheVersion != version || this.cacheCommand != mainCommand)
+			{
+				this.cache.clear();
+				this.cacheVersion = version;
+				this.cacheCommand = mainCommand;
+			}
+
+			HelpLines helpLines = this.cache.get(key);
+			if(helpLines == null)
+			{
+				helpLines = buildHelpLines(commandInfo, mainCommand, key);
+				this.cache.put(key, helpLines);
+			}
+			return helpLines;
+		}
+	}
+
+	private HelpLines buildHelpLines(CommandInfo commandInfo, Command<?> mainCommand, HelpKey key)
+	{
+		HelpLines helpLines = new HelpLines(Chat.CHAT_PAGE_HEIGHT-1);
+
+		// Main command
+		if(key.visible.get(0))
+		{
+			CommandInfo mainCommandInfo = new CommandInfo(commandInfo.getSender(), mainCommand, mainCommand.getName(), new String[0], null);
+			helpLines.add(new HelpLine(newMessageHelp(mainCommandInfo), key.player));
+		}
+
+		// Sub command
+		int i = 1;
+		for(Command<?> subCommand : mainCommand.getSubCommands().values())
+		{
+			if(key.visible.get(i++))
+			{
+				CommandInfo subCommandInfo = new CommandInfo(commandInfo.getSender(), subCommand, subCommand.getName(), new String[0], null);
+				helpLines.add(new HelpLine(newMessageHelp(subCommandInfo), key.player));
+			}
+		}
+
+		return helpLines;
+	}
+
+	private MessageHelp newMessageHelp(CommandInfo commandInfo)
+	{
+		MessageHelp messageHelp = new MessageHelp(commandInfo);
+		messageHelp.setDisplayArguments(this.displayArguments);
+		messageHelp.setDisplayDescription(this.displayDescription);
+		messageHelp.setDisplayInlineDescription(this.displayInlineDescription);
+		return messageHelp;
+	}
+
+	private boolean isMainCommandVisible(CommandInfo commandInfo, Command<?> command)
+	{
+		if(command.getPermission()==null)
+			return true;
+		return command.getPermission().isEmpty()==false && commandInfo.getSender().hasPermission(command.getPermission())==true;
+	}
+
+	private boolean isSubCommandVisible(CommandInfo commandInfo, Command<?> subCommand)
+	{
+		if(subCommand.getPermission()==null || subCommand.getPermission().isEmpty()==true)
+			return true;
+		return commandInfo.getSender().hasPermission(subCommand.getPermission())==true;
+	}
+
+	/**
+	 * Clear the rendered help pages
+	 */
+	public void clearCache()
+	{
+		synchronized(this.cache)
+		{
+			this.cache.clear();
+		}
+	}
+
 	@Override
 	public void onCommandHelp(CommandErrorType error, CommandInfo commandInfo)
 	{
@@ -209,21 +298,19 @@ public class CommandHelp<PluginClass extends JavaPlugin> extends Command<PluginC
 
 	class HelpLine
 	{
-		public CommandInfo commandInfo;
 		public MessageHelp message;
 		public int lines;
 		public int page;
 
-		public HelpLine(CommandInfo commandInfo, MessageHelp message)
+		public HelpLine(MessageHelp message, boolean isPlayer)
 		{
-			this.commandInfo = commandInfo;
 			this.message = message.build();
-			this.lines = getLines(commandInfo, message);
+			this.lines = getLines(message, isPlayer);
 		}
 
-		private int getLines(CommandInfo commandInfo, MessageHelp message)
+		private int getLines(MessageHelp message, boolean isPlayer)
 		{
-			if(commandInfo.getPlayer()!=null)
+			if(isPlayer)
 			{
 				int nbLines = 0;
 				for(Line line : message.getLines())
@@ -266,4 +353,31 @@ public class CommandHelp<PluginClass extends JavaPlugin> extends Command<PluginC
 			this.lines.add(line);
 		}
 	}
+
+	static final class HelpKey
+	{
+		final boolean player;
+		final BitSet visible;
+
+		HelpKey(boolean player, BitSet visible)
+		{
+			this.player = player;
+			this.visible = visible;
+		}
+
+		@Override
+		public boolean equals(Object o)
+		{
+			if(this == o) return true;
+			if(!(o instanceof HelpKey)) return false;
+			HelpKey key = (HelpKey) o;
+			return player == key.player && visible.equals(key.visible);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return 31 * visible.hashCode() + (player ? 1 : 0);
+		}
+	}
 }
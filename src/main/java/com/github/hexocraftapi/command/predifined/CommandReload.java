@@ -18,21 +18,60 @@ package com.github.hexocraftapi.command.predifined;
 
 import com.github.hexocraftapi.command.Command;
 import com.github.hexocraftapi.command.CommandInfo;
+import com.github.hexocraftapi.command.CommandRegistration;
+import com.github.hexocraftapi.command.CommandTreeFactory;
 import com.github.hexocraftapi.command.errors.CommandErrorType;
+import com.github.hexocraftapi.command.locale.CommandLocale;
+import com.github.hexocraftapi.command.message.MessageReload;
 import com.github.hexocraftapi.message.locale.Locale;
+import com.github.hexocraftapi.message.predifined.message.ErrorMessage;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
+ * Reload the plugin, or only its commands when a {@link CommandTreeFactory} is given.
+ *
  * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
  */
 public class CommandReload<PluginClass extends JavaPlugin> extends Command<PluginClass>
 {
+	private final CommandTreeFactory<PluginClass> factory;
+
 	public CommandReload(PluginClass plugin, String permission)
 	{
 		super("reload", plugin);
 		this.setPermission(permission);
 		this.setDescription(Locale.command_reload);
+		this.factory = null;
+	}
+
+	/**
+	 * Reload only the commands of the plugin: the tree built by the factory replaces
+	 * the main command in the command map, without disabling the plugin.
+	 * The commands already running finish on the old tree.
+	 *
+	 * @param plugin     The plugin owning the commands
+	 * @param permission Permission needed to reload
+	 * @param factory    Factory building the new main command
+	 */
+	public CommandReload(PluginClass plugin, String permission, CommandTreeFactory<PluginClass> factory)
+	{
+		super("reload", plugin);
+		this.setPermission(permission);
+		this.setDescription(Locale.command_reload);
+		this.factory = factory;
 	}
 
 	/**
@@ -45,30 +84,167 @@ public class CommandReload<PluginClass extends JavaPlugin> extends Command<Plugi
 	@Override
 	public boolean onCommand(CommandInfo commandInfo)
 	{
+		if(this.factory != null)
+			return reloadCommands(commandInfo);
+
 		PluginManager pm = this.plugin.getServer().getPluginManager();
+		MessageReload message = new MessageReload(CommandLocale.command_reload_plugins_reloaded);
 
-		// Disable the plugin
-		pm.disablePlugin(this.plugin);
+		// The plugin first, then the plugins depending on it
+		List<Plugin> plugins = reloadOrder(pm.getPlugins());
 
-		// Re-enable the plugin
-		pm.enablePlugin(this.plugin);
+		// Disable the dependents before the plugins they depend on
+		for(int i = plugins.size() - 1; i >= 0; i--)
+		{
+			long start = System.nanoTime();
+			pm.disablePlugin(plugins.get(i));
+			message.time(plugins.get(i).getName(), System.nanoTime() - start);
+		}
 
-		// Reload hard dependencies
-		for(org.bukkit.plugin.Plugin plugin : pm.getPlugins())
+		// Re-enable the plugins in dependency order
+		for(Plugin plugin : plugins)
 		{
-			if(plugin != null && plugin.getDescription() != null && plugin.isEnabled() && plugin.getDescription().getDepend() != null)
+			long start = System.nanoTime();
+			pm.enablePlugin(plugin);
+			message.time(plugin.getName(), System.nanoTime() - start);
+		}
+
+		message.build().send(commandInfo.getSenders());
+		return true;
+	}
+
+	/**
+	 * @param installed Installed plugins
+	 *
+	 * @return This plugin and the enabled plugins depending on it, directly or not,
+	 *         through depend, softdepend or loadbefore, in topological order
+	 */
+	private List<Plugin> reloadOrder(Plugin[] installed)
+	{
+		// Graph of the dependents, built once
+		Map<String, Plugin> byName = new HashMap<String, Plugin>();
+		Map<Plugin, List<Plugin>> dependents = new HashMap<Plugin, List<Plugin>>();
+		for(Plugin plugin : installed)
+		{
+			if(plugin != null && plugin.getDescription() != null)
+				byName.put(key(plugin.getName()), plugin);
+		}
+		for(Plugin plugin : byName.values())
+		{
+			PluginDescriptionFile description = plugin.getDescription();
+			for(String name : names(description.getDepend()))
+				addEdge(dependents, byName.get(key(name)), plugin);
+			for(String name : names(description.getSoftDepend()))
+				addEdge(dependents, byName.get(key(name)), plugin);
+			for(String name : names(description.getLoadBefore()))
+				addEdge(dependents, plugin, byName.get(key(name)));
+		}
+
+		// Transitive dependents of this plugin
+		Set<Plugin> reloaded = new LinkedHashSet<Plugin>();
+		Deque<Plugin> pending = new ArrayDeque<Plugin>();
+		reloaded.add(this.plugin);
+		pending.add(this.plugin);
+		while(!pending.isEmpty())
+		{
+			for(Plugin dependent : edges(dependents, pending.poll()))
 			{
-				for(String depend : plugin.getDescription().getDepend())
+				if(dependent.isEnabled() && reloaded.add(dependent))
+					pending.add(dependent);
+			}
+		}
+
+		// Topological order (Kahn) restricted to the reloaded plugins
+		Map<Plugin, Integer> inDegree = new HashMap<Plugin, Integer>();
+		for(Plugin plugin : reloaded)
+			inDegree.put(plugin, 0);
+		for(Plugin plugin : reloaded)
+		{
+			for(Plugin dependent : edges(dependents, plugin))
+			{
+				if(inDegree.containsKey(dependent) && dependent != this.plugin)
+					inDegree.put(dependent, inDegree.get(dependent) + 1);
+			}
+		}
+
+		List<Plugin> order = new ArrayList<Plugin>(reloaded.size());
+		pending.add(this.plugin);
+		inDegree.remove(this.plugin);
+		while(!pending.isEmpty())
+		{
+			Plugin plugin = pending.poll();
+			order.add(plugin);
+			for(Plugin dependent : edges(dependents, plugin))
+			{
+				Integer degree = inDegree.get(dependent);
+				if(degree == null) continue;
+				if(degree == 1)
 				{
-					if(depend.equalsIgnoreCase(this.plugin.getName()))
-					{
-						pm.disablePlugin(plugin);
-						pm.enablePlugin(plugin);
-					}
+					inDegree.remove(dependent);
+					pending.add(dependent);
 				}
+				else
+					inDegree.put(dependent, degree - 1);
 			}
 		}
 
+		// Plugins left in a dependency cycle keep their discovery order
+		for(Plugin plugin : reloaded)
+		{
+			if(inDegree.containsKey(plugin))
+				order.add(plugin);
+		}
+
+		return order;
+	}
+
+	private static void addEdge(Map<Plugin, List<Plugin>> dependents, Plugin plugin, Plugin dependent)
+	{
+		if(plugin == null || dependent == null || plugin == dependent) return;
+
+		List<Plugin> list = dependents.get(plugin);
+		if(list == null)
+			dependents.put(plugin, list = new ArrayList<Plugin>());
+		if(!list.contains(dependent))
+			list.add(dependent);
+	}
+
+	private static List<Plugin> edges(Map<Plugin, List<Plugin>> dependents, Plugin plugin)
+	{
+		List<Plugin> list = dependents.get(plugin);
+		return list != null ? list : Collections.<Plugin>emptyList();
+	}
+
+	private static List<String> names(List<String> names)
+	{
+		return names != null ? names : Collections.<String>emptyList();
+	}
+
+	private static String key(String name)
+	{
+		return name.toLowerCase(java.util.Locale.ENGLISH);
+	}
+
+	private boolean reloadCommands(CommandInfo commandInfo)
+	{
+		long start = System.nanoTime();
+
+		Command<?> command = getMainCommand() != null ? getMainCommand() : this;
+		Command<PluginClass> replacement = this.factory.create(this.plugin);
+
+		// Keep the settings of the running tree
+		if(replacement.getMetrics() == null) replacement.setMetrics(command.getMetrics());
+		if(replacement.getWatchdog() == null) replacement.setWatchdog(command.getWatchdog());
+		if(replacement.getExecuteLimiter() == null) replacement.setExecuteLimiter(command.getExecuteLimiter());
+		if(replacement.getTabCompleteLimiter() == null) replacement.setTabCompleteLimiter(command.getTabCompleteLimiter());
+
+		if(!CommandRegistration.swapCommand(this.plugin, command, replacement))
+		{
+			new ErrorMessage(CommandLocale.command_reload_failed).send(commandInfo.getSenders());
+			return true;
+		}
+
+		new MessageReload(CommandLocale.command_reload_commands_reloaded).time("/" + replacement.getName(), System.nanoTime() - start).build().send(commandInfo.getSenders());
 		return true;
 	}
 
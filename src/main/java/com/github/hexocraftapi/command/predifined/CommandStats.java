@@ -0,0 +1,69 @@
+package com.github.hexocraftapi.command.predifined;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.Command;
+import com.github.hexocraftapi.command.CommandArgument;
+import com.github.hexocraftapi.command.CommandInfo;
+import com.github.hexocraftapi.command.locale.CommandLocale;
+import com.github.hexocraftapi.command.message.MessageStats;
+import com.github.hexocraftapi.command.metrics.CommandMetrics;
+import com.github.hexocraftapi.command.type.ArgTypeInteger;
+import com.github.hexocraftapi.message.predifined.message.ErrorMessage;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Display the slowest and the most frequent commands of the tree,
+ * see {@link Command#setMetrics(CommandMetrics)}.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public class CommandStats<PluginClass extends JavaPlugin> extends Command<PluginClass>
+{
+	private final CommandArgument<Integer> countArgument;
+
+	public CommandStats(PluginClass plugin, String permission)
+	{
+		super("stats", plugin);
+		this.setPermission(permission);
+		this.setDescription(CommandLocale.command_stats_description);
+		this.countArgument = new CommandArgument<Integer>("count", ArgTypeInteger.range(1, 100), 5, false, false, CommandLocale.command_stats_count);
+		this.addArgument(this.countArgument);
+	}
+
+	/**
+	 * Executes the given command, returning its success
+	 *
+	 * @param commandInfo Info about the command
+	 *
+	 * @return true if a valid command, otherwise false
+	 */
+	@Override
+	public boolean onCommand(CommandInfo commandInfo)
+	{
+		CommandMetrics metrics = getMetrics();
+		if(metrics == null)
+		{
+			new ErrorMessage(CommandLocale.command_stats_not_measured).send(commandInfo.getSenders());
+			return true;
+		}
+
+		Integer count = commandInfo.getArg(this.countArgument);
+		new MessageStats(metrics, count != null ? count : 5).build().send(commandInfo.getSenders());
+		return true;
+	}
+}
@@ -26,9 +26,11 @@ import java.util.List;
 public interface ArgType<Type>
 {
 	// Check if the value is valid
+	// Must be equivalent to get(value) != null
 	public boolean check(String value);
 
-	// Get type from value
+	// Get type from value, or null if the value is not valid
+	// The command parses each argument once with this method and keeps the result in CommandInfo
 	public Type get(String value);
 
 	// Used for auto completion
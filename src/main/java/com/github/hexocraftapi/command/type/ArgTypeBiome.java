@@ -16,52 +16,14 @@ package com.github.hexocraftapi.command.type;
  * limitations under the License.
  */
 
-import com.github.hexocraftapi.command.CommandInfo;
 import org.bukkit.block.Biome;
-import org.bukkit.util.StringUtil;
-
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
  */
-public class ArgTypeBiome implements ArgType<Biome>
+public class ArgTypeBiome extends ArgTypeEnum<Biome>
 {
-	private ArgTypeBiome() {};
+	private ArgTypeBiome() { super(Biome.class); };
 	private static ArgTypeBiome t = new ArgTypeBiome();
 	public static ArgTypeBiome get() { return t; }
-
-	@Override
-	public boolean check(String BiomeName)
-	{
-		return get(BiomeName) != null;
-	}
-
-	@Override
-	public Biome get(String biomeName)
-	{
-		for(Biome biome : Biome.values())
-		{
-			if(biome.toString().equals(biomeName))
-				return biome;
-		}
-		return null;
-	}
-
-	@Override
-	public List<String> tabComplete(CommandInfo commandInfo)
-	{
-		String lastWord = commandInfo.numArgs() == 0 ? "" : commandInfo.getArgs().get(commandInfo.numArgs()-1);
-
-		ArrayList<String> matchedBiomes = new ArrayList<String>();
-		for(Biome biome : Biome.values())
-		{
-			String name = biome.toString();
-			if(StringUtil.startsWithIgnoreCase(name, lastWord))
-				matchedBiomes.add(name);
-		}
-
-		return matchedBiomes;
-	}
 }
@@ -64,7 +64,7 @@ public class ArgTypeBoolean implements ArgType<Boolean>
 		}
 		else
 		{
-			String lastWord = commandInfo.getArgs().get(commandInfo.numArgs()-1);
+			String lastWord = commandInfo.getLastArg();
 
 			ArrayList<String> matchedWorlds = new ArrayList<String>();
 			for(String sTrue : trueSet)
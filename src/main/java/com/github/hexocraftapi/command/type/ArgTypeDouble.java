@@ -17,6 +17,7 @@ package com.github.hexocraftapi.command.type;
  */
 
 import com.github.hexocraftapi.command.CommandInfo;
+import com.github.hexocraftapi.command.util.NumberParser;
 
 import java.util.List;
 
@@ -25,10 +26,22 @@ import java.util.List;
  */
 public class ArgTypeDouble implements ArgType<Double>
 {
-	private ArgTypeDouble() {};
+	private ArgTypeDouble() { this(-Double.MAX_VALUE, Double.MAX_VALUE); };
+	private ArgTypeDouble(double min, double max) { this.min = min; this.max = max; };
 	private static ArgTypeDouble t = new ArgTypeDouble();
 	public static ArgTypeDouble get() { return t; }
 
+	/**
+	 * @param min Minimum value (inclusive)
+	 * @param max Maximum value (inclusive)
+	 *
+	 * @return An ArgTypeDouble only accepting values between min and max
+	 */
+	public static ArgTypeDouble range(double min, double max) { return new ArgTypeDouble(min, max); }
+
+	private final double min;
+	private final double max;
+
 	@Override
 	public boolean check(String dbl)
 	{
@@ -38,14 +51,7 @@ public class ArgTypeDouble implements ArgType<Double>
 	@Override
 	public Double get(String dbl)
 	{
-		try
-		{
-			return Double.parseDouble(dbl);
-		}
-		catch(Exception e)
-		{
-			return null;
-		}
+		return NumberParser.parseDouble(dbl, min, max);
 	}
 
 	@Override
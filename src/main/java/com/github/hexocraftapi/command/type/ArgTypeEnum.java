@@ -0,0 +1,145 @@
+package com.github.hexocraftapi.command.type;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.CommandInfo;
+import com.github.hexocraftapi.command.util.PrefixIndex;
+import com.github.hexocraftapi.command.util.SuggestionIndex;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Argument type accepting the constants of an enum, case insensitive.
+ *
+ * The constants are indexed once per enum: {@link #get(String)} is a hash lookup and
+ * {@link #tabComplete(CommandInfo)} returns the range of sorted names starting with the last word
+ * and {@link #suggest(String)} searches the closest name in an index of the misspelled names.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public class ArgTypeEnum<E extends Enum<E>> implements ArgType<E>, SuggestArgType
+{
+	private static final ConcurrentMap<Class<?>, ArgTypeEnum<?>> types = new ConcurrentHashMap<>();
+	private static final ConcurrentMap<Class<?>, PrefixIndex<?>> indexes = new ConcurrentHashMap<>();
+	private static final ConcurrentMap<Class<?>, SuggestionIndex> suggestionIndexes = new ConcurrentHashMap<>();
+
+	private final Class<E> enumClass;
+	private final PrefixIndex<E> index;
+	private final SuggestionIndex suggestions;
+
+	protected ArgTypeEnum(Class<E> enumClass)
+	{
+		this.enumClass = enumClass;
+		this.index = getIndex(enumClass);
+		this.suggestions = getSuggestionIndex(enumClass);
+	}
+
+	/**
+	 * @param enumClass Class of the enum
+	 *
+	 * @return The argument type of the enum
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E extends Enum<E>> ArgTypeEnum<E> of(Class<E> enumClass)
+	{
+		ArgTypeEnum<E> type = (ArgTypeEnum<E>) types.get(enumClass);
+		if(type == null)
+		{
+			ArgTypeEnum<E> newType = new ArgTypeEnum<E>(enumClass);
+			type = (ArgTypeEnum<E>) types.putIfAbsent(enumClass, newType);
+			if(type == null) type = newType;
+		}
+		return type;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E extends Enum<E>> PrefixIndex<E> getIndex(Class<E> enumClass)
+	{
+		PrefixIndex<E> index = (PrefixIndex<E>) indexes.get(enumClass);
+		if(index == null)
+		{
+			PrefixIndex.Builder<E> builder = PrefixIndex.builder();
+			for(E constant : enumClass.getEnumConstants())
+				builder.put(constant.name(), constant);
+
+			PrefixIndex<E> newIndex = builder.build();
+			index = (PrefixIndex<E>) indexes.putIfAbsent(enumClass, newIndex);
+			if(index == null) index = newIndex;
+		}
+		return index;
+	}
+
+	private static SuggestionIndex getSuggestionIndex(Class<?> enumClass)
+	{
+		SuggestionIndex suggestions = suggestionIndexes.get(enumClass);
+		if(suggestions == null)
+		{
+			SuggestionIndex.Builder builder = SuggestionIndex.builder();
+			for(Object constant : enumClass.getEnumConstants())
+				builder.put(((Enum<?>) constant).name());
+
+			SuggestionIndex newSuggestions = builder.build();
+			suggestions = suggestionIndexes.putIfAbsent(enumClass, newSuggestions);
+			if(suggestions == null) suggestions = newSuggestions;
+		}
+		return suggestions;
+	}
+
+	/**
+	 * @return Class of the enum
+	 */
+	public Class<E> getEnumClass()
+	{
+		return enumClass;
+	}
+
+	/**
+	 * @return Index of the enum constants
+	 */
+	public PrefixIndex<E> getIndex()
+	{
+		return index;
+	}
+
+	@Override
+	public boolean check(String name)
+	{
+		return get(name) != null;
+	}
+
+	@Override
+	public E get(String name)
+	{
+		return index.get(name);
+	}
+
+	@Override
+	public List<String> tabComplete(CommandInfo commandInfo)
+	{
+		String lastWord = commandInfo.numArgs() == 0 ? "" : commandInfo.getLastArg();
+
+		return index.complete(lastWord);
+	}
+
+	@Override
+	public String suggest(String name)
+	{
+		return suggestions.suggest(name);
+	}
+}
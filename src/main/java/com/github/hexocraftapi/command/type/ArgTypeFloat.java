@@ -17,6 +17,7 @@ package com.github.hexocraftapi.command.type;
  */
 
 import com.github.hexocraftapi.command.CommandInfo;
+import com.github.hexocraftapi.command.util.NumberParser;
 
 import java.util.List;
 
@@ -25,10 +26,22 @@ import java.util.List;
  */
 public class ArgTypeFloat implements ArgType<Float>
 {
-	private ArgTypeFloat() {};
+	private ArgTypeFloat() { this(-Float.MAX_VALUE, Float.MAX_VALUE); };
+	private ArgTypeFloat(float min, float max) { this.min = min; this.max = max; };
 	private static ArgTypeFloat t = new ArgTypeFloat();
 	public static ArgTypeFloat get() { return t; }
 
+	/**
+	 * @param min Minimum value (inclusive)
+	 * @param max Maximum value (inclusive)
+	 *
+	 * @return An ArgTypeFloat only accepting values between min and max
+	 */
+	public static ArgTypeFloat range(float min, float max) { return new ArgTypeFloat(min, max); }
+
+	private final float min;
+	private final float max;
+
 	@Override
 	public boolean check(String flt)
 	{
@@ -38,14 +51,7 @@ public class ArgTypeFloat implements ArgType<Float>
 	@Override
 	public Float get(String flt)
 	{
-		try
-		{
-			return Float.parseFloat(flt);
-		}
-		catch(Exception e)
-		{
-			return null;
-		}
+		return NumberParser.parseFloat(flt, min, max);
 	}
 
 	@Override
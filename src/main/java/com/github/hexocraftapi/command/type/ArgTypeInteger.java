@@ -17,6 +17,7 @@ package com.github.hexocraftapi.command.type;
  */
 
 import com.github.hexocraftapi.command.CommandInfo;
+import com.github.hexocraftapi.command.util.NumberParser;
 
 import java.util.List;
 
@@ -25,10 +26,22 @@ import java.util.List;
  */
 public class ArgTypeInteger implements ArgType<Integer>
 {
-	private ArgTypeInteger() {};
+	private ArgTypeInteger() { this(Integer.MIN_VALUE, Integer.MAX_VALUE); };
+	private ArgTypeInteger(int min, int max) { this.min = min; this.max = max; };
 	private static ArgTypeInteger t = new ArgTypeInteger();
 	public static ArgTypeInteger get() { return t; }
 
+	/**
+	 * @param min Minimum value (inclusive)
+	 * @param max Maximum value (inclusive)
+	 *
+	 * @return An ArgTypeInteger only accepting values between min and max
+	 */
+	public static ArgTypeInteger range(int min, int max) { return new ArgTypeInteger(min, max); }
+
+	private final int min;
+	private final int max;
+
 	@Override
 	public boolean check(String integer)
 	{
@@ -38,14 +51,7 @@ public class ArgTypeInteger implements ArgType<Integer>
 	@Override
 	public Integer get(String integer)
 	{
-		try
-		{
-			return Integer.parseInt(integer);
-		}
-		catch(Exception e)
-		{
-			return null;
-		}
+		return NumberParser.parseInt(integer, min, max);
 	}
 
 	@Override
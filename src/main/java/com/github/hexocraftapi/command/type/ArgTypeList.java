@@ -0,0 +1,200 @@
+package com.github.hexocraftapi.command.type;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.CommandInfo;
+import com.github.hexocraftapi.command.CommandLine;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Argument type accepting a list of values of another type, separated by a character.
+ *
+ * The value is read in a single pass, element by element, without splitting it first.
+ * The empty elements are skipped. The parsing stops at the first invalid element:
+ * {@link #get(String)} then returns null and {@link #indexOfInvalid(String)} its position.
+ * A value without any element, like an empty value, is invalid at position 0.
+ *
+ * With a space separator, the list spans all the remaining words of the command line
+ * (see {@link com.github.hexocraftapi.command.CommandArgument#isCollection()}).
+ *
+ * A list of a {@link MainThreadArgType} must be a {@link MainThreadArgTypeList}, so that its completion
+ * is done on the main thread: use {@link #of(ArgType, char)}, or extend {@link MainThreadArgTypeList}.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public class ArgTypeList<T> implements ArgType<List<T>>, SuggestArgType
+{
+	private final ArgType<T> type;
+	private final char separator;
+
+	protected ArgTypeList(ArgType<T> type, char separator)
+	{
+		this.type = type;
+		this.separator = separator;
+	}
+
+	/**
+	 * @param type      Type of the elements
+	 * @param separator Separator of the elements
+	 *
+	 * @return The argument type of the list, a {@link MainThreadArgType} if the type of the elements is one
+	 */
+	public static <T> ArgTypeList<T> of(ArgType<T> type, char separator)
+	{
+		if(type instanceof MainThreadArgType)
+			return new MainThreadArgTypeList<T>(type, separator);
+		return new ArgTypeList<T>(type, separator);
+	}
+
+	/**
+	 * @return Type of the elements
+	 */
+	public ArgType<T> getType()
+	{
+		return type;
+	}
+
+	/**
+	 * @return Separator of the elements
+	 */
+	public char getSeparator()
+	{
+		return separator;
+	}
+
+	@Override
+	public boolean check(String value)
+	{
+		return value != null && indexOfInvalid(value) < 0;
+	}
+
+	@Override
+	public List<T> get(String value)
+	{
+		if(value == null)
+			return null;
+
+		List<T> list = new ArrayList<T>();
+		return parse(value, list) < 0 ? list : null;
+	}
+
+	/**
+	 * @param value Value to parse
+	 *
+	 * @return Position of the first invalid element, or -1 if all the elements are valid
+	 */
+	public int indexOfInvalid(String value)
+	{
+		return parse(value, null);
+	}
+
+	/**
+	 * Parse one element of the list
+	 *
+	 * @param value The whole value
+	 * @param from  Index of the first character of the element (inclusive)
+	 * @param to    Index of the last character of the element (exclusive)
+	 *
+	 * @return The element, or null if invalid
+	 */
+	protected T get(String value, int from, int to)
+	{
+		return type.get(value.substring(from, to));
+	}
+
+	/**
+	 * Parse the elements until the first invalid one
+	 *
+	 * @param value Value to parse
+	 * @param list  List receiving the elements, or null
+	 *
+	 * @return Position of the first invalid element, 0 if there is no element, or -1
+	 */
+	private int parse(String value, List<T> list)
+	{
+		int from = 0;
+		int length = value.length();
+		boolean empty = true;
+		for(int i = 0; i <= length; i++)
+		{
+			if(i < length && value.charAt(i) != separator) continue;
+			if(i > from)
+			{
+				T element = get(value, from, i);
+				if(element == null)
+					return from;
+				if(list != null)
+					list.add(element);
+				empty = false;
+			}
+			from = i + 1;
+		}
+		return empty ? 0 : -1;
+	}
+
+	/**
+	 * Complete the element being typed: the part of the last word following the last separator.
+	 * The type of the elements completes a command info holding that element alone as arguments.
+	 * The completions keep the elements already typed.
+	 */
+	@Override
+	public List<String> tabComplete(CommandInfo commandInfo)
+	{
+		String lastWord = commandInfo.numArgs() == 0 ? "" : commandInfo.getLastArg();
+		int head = lastWord.lastIndexOf(separator) + 1;
+		if(head == 0)
+			return type.tabComplete(commandInfo);
+
+		// Complete the element alone, then put back the elements already typed
+		CommandLine element = CommandLine.of(lastWord.substring(head));
+		List<String> completions = type.tabComplete(new CommandInfo(commandInfo.getSender(), commandInfo.getCommand(), commandInfo.getLabel(), element, new LinkedHashMap<String, String>()));
+		if(completions == null)
+			return null;
+
+		String prefix = lastWord.substring(0, head);
+		List<String> prefixed = new ArrayList<String>(completions.size());
+		for(String completion : completions)
+			prefixed.add(prefix + completion);
+		return prefixed;
+	}
+
+	/**
+	 * @return The value with its first invalid element replaced by the closest valid value, or null
+	 */
+	@Override
+	public String suggest(String value)
+	{
+		if(!(type instanceof SuggestArgType))
+			return null;
+
+		int from = indexOfInvalid(value);
+		if(from < 0)
+			return null;
+
+		int to = value.indexOf(separator, from);
+		if(to < 0) to = value.length();
+		// No element to replace
+		if(to == from)
+			return null;
+
+		String suggestion = ((SuggestArgType) type).suggest(value.substring(from, to));
+		return suggestion == null ? null : value.substring(0, from) + suggestion + value.substring(to);
+	}
+}
@@ -17,6 +17,7 @@ package com.github.hexocraftapi.command.type;
  */
 
 import com.github.hexocraftapi.command.CommandInfo;
+import com.github.hexocraftapi.command.util.NumberParser;
 
 import java.util.List;
 
@@ -25,10 +26,22 @@ import java.util.List;
  */
 public class ArgTypeLong implements ArgType<Long>
 {
-	private ArgTypeLong() {};
+	private ArgTypeLong() { this(Long.MIN_VALUE, Long.MAX_VALUE); };
+	private ArgTypeLong(long min, long max) { this.min = min; this.max = max; };
 	private static ArgTypeLong t = new ArgTypeLong();
 	public static ArgTypeLong get() { return t; }
 
+	/**
+	 * @param min Minimum value (inclusive)
+	 * @param max Maximum value (inclusive)
+	 *
+	 * @return An ArgTypeLong only accepting values between min and max
+	 */
+	public static ArgTypeLong range(long min, long max) { return new ArgTypeLong(min, max); }
+
+	private final long min;
+	private final long max;
+
 	@Override
 	public boolean check(String lg)
 	{
@@ -38,14 +51,7 @@ public class ArgTypeLong implements ArgType<Long>
 	@Override
 	public Long get(String lg)
 	{
-		try
-		{
-			return Long.parseLong(lg);
-		}
-		catch(Exception e)
-		{
-			return null;
-		}
+		return NumberParser.parseLong(lg, min, max);
 	}
 
 	@Override
@@ -1,19 +1,34 @@
 package com.github.hexocraftapi.command.type;
 
 import com.github.hexocraftapi.command.CommandInfo;
+import com.github.hexocraftapi.command.util.NumberParser;
 import org.bukkit.Material;
 import org.bukkit.material.MaterialData;
-import org.bukkit.util.StringUtil;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
-public class ArgTypeMaterial implements ArgType<MaterialData>
+/**
+ * Argument type accepting a material with an optional data value: name[:data].
+ *
+ * The values are parsed in a single pass, without exception. The material data are
+ * created once per material and data value, then cloned: each call returns a new
+ * instance, that the caller is free to modify.
+ */
+public class ArgTypeMaterial implements ArgType<MaterialData>, SuggestArgType
 {
 	private ArgTypeMaterial() {};
 	private static ArgTypeMaterial t = new ArgTypeMaterial();
 	public static ArgTypeMaterial get() { return t; }
 
+	private static final ArgTypeEnum<Material> materials = ArgTypeEnum.of(Material.class);
+
+	/**
+	 * Prototypes of the parsed values, indexed by ordinal * 16 + data.
+	 * Only the data values 0 to 15 are cached. The prototypes are never returned, only their clones.
+	 */
+	private static final AtomicReferenceArray<MaterialData> cache = new AtomicReferenceArray<MaterialData>(Material.values().length * 16);
+
 	@Override
 	public boolean check(String materialData)
 	{
@@ -23,26 +38,85 @@ public class ArgTypeMaterial implements ArgType<MaterialData>
 	@Override
 	public MaterialData get(String materialData)
 	{
-		String m = materialData.split(":")[0];
-		String d = (m.length()==materialData.length())?"0":materialData.split(":")[1];
+		return materialData == null ? null : get(materialData, 0, materialData.length());
+	}
+
+	/**
+	 * @param chars Characters containing the value to parse: name[:data]
+	 * @param from  Index of the first character (inclusive)
+	 * @param to    Index of the last character (exclusive)
+	 *
+	 * @return A new material data, or null
+	 */
+	public MaterialData get(CharSequence chars, int from, int to)
+	{
+		if(from >= to)
+			return null;
+
+		int colon = dataColon(chars, from, to);
+		int end = colon < 0 ? to : colon;
+		byte data = colon < 0 ? 0 : (byte) NumberParser.parseInt(chars, colon + 1, to, Byte.MIN_VALUE, 255).intValue();
 
-		Material mat = Material.matchMaterial(m);
-		return mat==null?null:mat.getNewData((byte) Integer.parseInt(d));
+		Material material = materials.getIndex().get(chars, from, end);
+		if(material == null) material = Material.matchMaterial(chars.subSequence(from, end).toString());
+		return material == null ? null : of(material, data);
 	}
 
-	@Override
-	public List<String> tabComplete(CommandInfo commandInfo)
+	/**
+	 * The data is the number following the last colon, if any.
+	 * Otherwise, the colon belongs to the name (minecraft:stone).
+	 *
+	 * @return Index of the colon separating the name from the data, or -1 if there is no data
+	 */
+	private static int dataColon(CharSequence chars, int from, int to)
+	{
+		for(int i = to - 1; i >= from; i--)
+		{
+			if(chars.charAt(i) != ':') continue;
+			return NumberParser.parseInt(chars, i + 1, to, Byte.MIN_VALUE, 255) != null ? i : -1;
+		}
+		return -1;
+	}
+
+	/**
+	 * @param material Material
+	 * @param data     Data value
+	 *
+	 * @return A new material data
+	 */
+	public static MaterialData of(Material material, byte data)
 	{
-		String lastWord = commandInfo.numArgs() == 0 ? "" : commandInfo.getArgs().get(commandInfo.numArgs()-1);
+		if(data < 0 || data >= 16)
+			return newData(material, data);
 
-		ArrayList<String> matchedMaterial = new ArrayList<String>();
-		for(Material material : Material.values())
+		int slot = material.ordinal() * 16 + data;
+		MaterialData materialData = cache.get(slot);
+		if(materialData == null)
 		{
-			String name = material.toString();
-			if(StringUtil.startsWithIgnoreCase(name, lastWord))
-				matchedMaterial.add(name);
+			MaterialData newMaterialData = newData(material, data);
+			materialData = cache.compareAndSet(slot, null, newMaterialData) ? newMaterialData : cache.get(slot);
 		}
+		return materialData.clone();
+	}
+
+	@SuppressWarnings("deprecation")
+	private static MaterialData newData(Material material, byte data)
+	{
+		return material.isLegacy() ? material.getNewData(data) : new MaterialData(material, data);
+	}
+
+	@Override
+	public List<String> tabComplete(CommandInfo commandInfo)
+	{
+		return materials.tabComplete(commandInfo);
+	}
 
-		return matchedMaterial;
+	@Override
+	public String suggest(String materialData)
+	{
+		// Split as get does, so that the suggestion is for the name that failed
+		int colon = dataColon(materialData, 0, materialData.length());
+		String suggestion = materials.suggest(colon < 0 ? materialData : materialData.substring(0, colon));
+		return suggestion == null || colon < 0 ? suggestion : suggestion + materialData.substring(colon);
 	}
 }
@@ -1,40 +1,39 @@
 package com.github.hexocraftapi.command.type;
 
-import com.github.hexocraftapi.command.CommandInfo;
-import org.apache.commons.lang.StringUtils;
-import org.bukkit.material.MaterialData;
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import org.bukkit.material.MaterialData;
 
-public class ArgTypeMaterialList implements ArgType<List<MaterialData>>
+/**
+ * List of materials with an optional data value separated by a comma: name[:data],name[:data]
+ *
+ * Each element is parsed in place by {@link ArgTypeMaterial}, each element is a new instance.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public class ArgTypeMaterialList extends ArgTypeList<MaterialData>
 {
-	private ArgTypeMaterialList() {};
+	private ArgTypeMaterialList() { super(ArgTypeMaterial.get(), ','); };
 	private static ArgTypeMaterialList t = new ArgTypeMaterialList();
 	public static ArgTypeMaterialList get() { return t; }
 
 	@Override
-	public boolean check(String materialDataList)
-	{
-		return get(materialDataList)!=null;
-	}
-
-	@Override
-	public List<MaterialData> get(String materialDataList)
-	{
-		List<String> sl = Arrays.asList(StringUtils.split(materialDataList, ","));
-		List<MaterialData> ml = new ArrayList<>(sl.size());
-
-		for(String md : sl)
-			ml.add(ArgTypeMaterial.get().get(md));
-
-		return ml;
-	}
-
-	@Override
-	public List<String> tabComplete(CommandInfo commandInfo)
+	protected MaterialData get(String value, int from, int to)
 	{
-		return null;
+		return ArgTypeMaterial.get().get(value, from, to);
 	}
 }
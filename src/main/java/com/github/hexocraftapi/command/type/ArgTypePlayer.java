@@ -17,18 +17,15 @@ package com.github.hexocraftapi.command.type;
  */
 
 import com.github.hexocraftapi.command.CommandInfo;
-import com.github.hexocraftapi.util.PlayerUtil;
-import org.bukkit.Bukkit;
+import com.github.hexocraftapi.command.index.PlayerIndex;
 import org.bukkit.entity.Player;
-import org.bukkit.util.StringUtil;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
  */
-public class ArgTypePlayer implements ArgType<Player>
+public class ArgTypePlayer implements ArgType<Player>, MainThreadArgType
 {
 	private ArgTypePlayer() {};
 	private static ArgTypePlayer t = new ArgTypePlayer();
@@ -43,29 +40,14 @@ public class ArgTypePlayer implements ArgType<Player>
 	@Override
 	public Player get(String playerName)
 	{
-		try
-		{
-			return PlayerUtil.getPlayer(playerName);
-		}
-		catch(Exception e)
-		{
-			return null;
-		}
+		return PlayerIndex.get().getPlayer(playerName);
 	}
 
 	@Override
 	public List<String> tabComplete(CommandInfo commandInfo)
 	{
-		String lastWord = commandInfo.numArgs() == 0 ? "" : commandInfo.getArgs().get(commandInfo.numArgs()-1);
+		String lastWord = commandInfo.numArgs() == 0 ? "" : commandInfo.getLastArg();
 
-		ArrayList<String> matchedPlayers = new ArrayList<String>();
-		for(Player player : PlayerUtil.getOnlinePlayers())
-		{
-			String name = player.getName();
-			if((commandInfo.getPlayer() == null || commandInfo.getPlayer().canSee(player)) && StringUtil.startsWithIgnoreCase(name, lastWord))
-				matchedPlayers.add(name);
-		}
-
-		return matchedPlayers;
+		return PlayerIndex.get().complete(lastWord, commandInfo.getPlayer());
 	}
 }
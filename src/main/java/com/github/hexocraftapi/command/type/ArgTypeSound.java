@@ -16,48 +16,24 @@ package com.github.hexocraftapi.command.type;
  * limitations under the License.
  */
 
-import com.github.hexocraftapi.command.CommandInfo;
 import com.github.hexocraftapi.sounds.Sounds;
 import org.bukkit.Sound;
-import org.bukkit.util.StringUtil;
-
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
  */
-public class ArgTypeSound implements ArgType<Sound>
+public class ArgTypeSound extends ArgTypeEnum<Sound>
 {
-	private ArgTypeSound() {};
+	private ArgTypeSound() { super(Sound.class); };
 	private static ArgTypeSound t = new ArgTypeSound();
 	public static ArgTypeSound get() { return t; }
 
-	@Override
-	public boolean check(String sound)
-	{
-		return get(sound)!=null;
-	}
-
 	@Override
 	public Sound get(String sound)
 	{
-		return Sounds.get(sound);
-	}
-
-	@Override
-	public List<String> tabComplete(CommandInfo commandInfo)
-	{
-		String lastWord = commandInfo.numArgs() == 0 ? "" : commandInfo.getArgs().get(commandInfo.numArgs()-1);
-
-		ArrayList<String> matchedSounds = new ArrayList<String>();
-		for(Sound sound : Sound.values())
-		{
-			String name = sound.toString();
-			if(StringUtil.startsWithIgnoreCase(name, lastWord))
-				matchedSounds.add(name);
-		}
+		Sound s = super.get(sound);
 
-		return matchedSounds;
+		// Names of the other server versions
+		return s != null ? s : Sounds.get(sound);
 	}
 }
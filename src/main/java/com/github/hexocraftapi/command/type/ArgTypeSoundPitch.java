@@ -17,6 +17,7 @@ package com.github.hexocraftapi.command.type;
  */
 
 import com.github.hexocraftapi.command.CommandInfo;
+import com.github.hexocraftapi.command.util.NumberParser;
 
 import java.util.List;
 
@@ -38,18 +39,8 @@ public class ArgTypeSoundPitch implements ArgType<Float>
 	@Override
 	public Float get(String pitch)
 	{
-		try
-		{
-			// Pitch must be between 0f and 2f
-			float f = Float.parseFloat(pitch);
-			if(f >= 0f && f <=2f)
-				return f;
-			return null;
-		}
-		catch(Exception e)
-		{
-			return null;
-		}
+		// Pitch must be between 0f and 2f
+		return NumberParser.parseFloat(pitch, 0f, 2f);
 	}
 
 	@Override
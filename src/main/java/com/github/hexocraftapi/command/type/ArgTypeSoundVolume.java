@@ -17,6 +17,7 @@ package com.github.hexocraftapi.command.type;
  */
 
 import com.github.hexocraftapi.command.CommandInfo;
+import com.github.hexocraftapi.command.util.NumberParser;
 
 import java.util.List;
 
@@ -38,17 +39,8 @@ public class ArgTypeSoundVolume implements ArgType<Float>
 	@Override
 	public Float get(String volume)
 	{
-		try
-		{
-			// Volume must positif
-			float f = Float.parseFloat(volume);
-			if(f >= 0f) return f;
-			return null;
-		}
-		catch(Exception e)
-		{
-			return null;
-		}
+		// Volume must positif
+		return NumberParser.parseFloat(volume, 0f, Float.MAX_VALUE);
 	}
 
 	@Override
@@ -17,30 +17,24 @@ package com.github.hexocraftapi.command.type;
  */
 
 import com.github.hexocraftapi.command.CommandInfo;
-import org.apache.commons.lang.StringUtils;
 
-import java.util.Arrays;
 import java.util.List;
 
 /**
+ * List of words separated by a space, spanning the remaining words of the command line
+ *
  * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
  */
-public class ArgTypeStringList implements ArgType<List<String>>
+public class ArgTypeStringList extends ArgTypeList<String>
 {
-	private ArgTypeStringList() {};
+	private ArgTypeStringList() { super(ArgTypeString.get(), ' '); };
 	private static ArgTypeStringList t = new ArgTypeStringList();
 	public static ArgTypeStringList get() { return t; }
 
 	@Override
-	public boolean check(String string)
-	{
-		return get(string)!=null;
-	}
-
-	@Override
-	public List<String> get(String string)
+	protected String get(String value, int from, int to)
 	{
-		return Arrays.asList(StringUtils.split(string, " "));
+		return value.substring(from, to);
 	}
 
 	@Override
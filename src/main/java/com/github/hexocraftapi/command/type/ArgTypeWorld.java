@@ -17,17 +17,15 @@ package com.github.hexocraftapi.command.type;
  */
 
 import com.github.hexocraftapi.command.CommandInfo;
-import org.bukkit.Bukkit;
+import com.github.hexocraftapi.command.index.WorldIndex;
 import org.bukkit.World;
-import org.bukkit.util.StringUtil;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
  */
-public class ArgTypeWorld implements ArgType<World>
+public class ArgTypeWorld implements ArgType<World>, MainThreadArgType
 {
 	private ArgTypeWorld() {};
 	private static ArgTypeWorld t = new ArgTypeWorld();
@@ -42,29 +40,14 @@ public class ArgTypeWorld implements ArgType<World>
 	@Override
 	public World get(String world)
 	{
-		try
-		{
-			return Bukkit.getServer().getWorld(world);
-		}
-		catch(Exception e)
-		{
-			return null;
-		}
+		return WorldIndex.get().getWorld(world);
 	}
 
 	@Override
 	public List<String> tabComplete(CommandInfo commandInfo)
 	{
-		String lastWord = commandInfo.numArgs() == 0 ? "" : commandInfo.getArgs().get(commandInfo.numArgs()-1);
+		String lastWord = commandInfo.numArgs() == 0 ? "" : commandInfo.getLastArg();
 
-		ArrayList<String> matchedWorlds = new ArrayList<String>();
-		for(World world : commandInfo.getSender().getServer().getWorlds())
-		{
-			String name = world.getName();
-			if(StringUtil.startsWithIgnoreCase(name, lastWord))
-				matchedWorlds.add(name);
-		}
-
-		return matchedWorlds;
+		return WorldIndex.get().complete(lastWord);
 	}
 }
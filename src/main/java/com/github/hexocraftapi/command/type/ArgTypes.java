@@ -0,0 +1,98 @@
+package com.github.hexocraftapi.command.type;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.entity.Player;
+import org.bukkit.material.MaterialData;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of the argument types by the class of their values.
+ *
+ * Used to find the argument type of a typed parameter, see {@link com.github.hexocraftapi.command.annotation.AnnotatedCommand}.
+ * Enums without a registered type use {@link ArgTypeEnum#of(Class)}.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public final class ArgTypes
+{
+	private static final ConcurrentMap<Class<?>, ArgType<?>> types = new ConcurrentHashMap<>();
+
+	static
+	{
+		register(String.class, ArgTypeString.get());
+		register(Integer.class, ArgTypeInteger.get());
+		register(Long.class, ArgTypeLong.get());
+		register(Float.class, ArgTypeFloat.get());
+		register(Double.class, ArgTypeDouble.get());
+		register(Boolean.class, ArgTypeBoolean.get());
+		register(Player.class, ArgTypePlayer.get());
+		register(World.class, ArgTypeWorld.get());
+		register(MaterialData.class, ArgTypeMaterial.get());
+		register(Biome.class, ArgTypeBiome.get());
+		register(Sound.class, ArgTypeSound.get());
+	}
+
+	private ArgTypes() {}
+
+	/**
+	 * Register the argument type of a class, replacing the previous one
+	 *
+	 * @param valueClass Class of the values
+	 * @param type       Argument type parsing the values
+	 */
+	public static <T> void register(Class<T> valueClass, ArgType<T> type)
+	{
+		if(valueClass == null) throw new IllegalArgumentException("valueClass must be different from null");
+		if(type == null) throw new IllegalArgumentException("type must be different from null");
+		types.put(wrap(valueClass), type);
+	}
+
+	/**
+	 * @param valueClass Class of the values, primitive classes are replaced by their wrapper
+	 *
+	 * @return The argument type of the class, or null
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public static <T> ArgType<T> get(Class<T> valueClass)
+	{
+		Class<?> wrapped = wrap(valueClass);
+		ArgType<?> type = types.get(wrapped);
+		if(type == null && wrapped.isEnum())
+			type = ArgTypeEnum.of((Class<Enum>) wrapped);
+		return (ArgType<T>) type;
+	}
+
+	private static Class<?> wrap(Class<?> valueClass)
+	{
+		if(!valueClass.isPrimitive()) return valueClass;
+		if(valueClass == int.class) return Integer.class;
+		if(valueClass == long.class) return Long.class;
+		if(valueClass == float.class) return Float.class;
+		if(valueClass == double.class) return Double.class;
+		if(valueClass == boolean.class) return Boolean.class;
+		if(valueClass == short.class) return Short.class;
+		if(valueClass == byte.class) return Byte.class;
+		if(valueClass == char.class) return Character.class;
+		return Void.class;
+	}
+}
@@ -0,0 +1,31 @@
+package com.github.hexocraftapi.command.type;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * List of an argument type completed on the main server thread, see {@link MainThreadArgType}.
+ * {@link ArgTypeList#of(ArgType, char)} returns this type when the elements are completed on the main thread.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public class MainThreadArgTypeList<T> extends ArgTypeList<T> implements MainThreadArgType
+{
+	protected MainThreadArgTypeList(ArgType<T> type, char separator)
+	{
+		super(type, separator);
+	}
+}
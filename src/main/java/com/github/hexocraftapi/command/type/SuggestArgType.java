@@ -0,0 +1,34 @@
+package com.github.hexocraftapi.command.type;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Argument types able to suggest the closest valid value to a value that failed to parse.
+ *
+ * The suggestion is displayed with the help of the command, see {@link com.github.hexocraftapi.command.CommandInfo#getSuggestion()}.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public interface SuggestArgType
+{
+	/**
+	 * @param value Value that failed to parse
+	 *
+	 * @return The closest valid value, or null
+	 */
+	String suggest(String value);
+}
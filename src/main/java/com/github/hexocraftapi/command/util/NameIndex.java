@@ -0,0 +1,220 @@
+package com.github.hexocraftapi.command.util;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable, case-insensitive hash index of names.
+ *
+ * The keys are case-folded once when the index is built. Lookups fold the
+ * searched characters on the fly, so a lookup never allocates.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public final class NameIndex<V>
+{
+	private static final NameIndex<?> EMPTY = new NameIndex<Object>(new ArrayList<String>(), new ArrayList<Object>());
+
+	private final String[] keys;
+	private final Object[] values;
+	private final int mask;
+	private final int size;
+
+	private NameIndex(List<String> keys, List<?> values)
+	{
+		int capacity = 2;
+		while(capacity < keys.size() * 2)
+			capacity <<= 1;
+
+		this.keys = new String[capacity];
+		this.values = new Object[capacity];
+		this.mask = capacity - 1;
+		this.size = keys.size();
+
+		for(int i = 0; i < keys.size(); i++)
+		{
+			String key = keys.get(i);
+			int slot = hash(key, 0, key.length()) & mask;
+			while(this.keys[slot] != null)
+				slot = (slot + 1) & mask;
+			this.keys[slot] = key;
+			this.values[slot] = values.get(i);
+		}
+	}
+
+	/**
+	 * @return An empty index
+	 */
+	@SuppressWarnings("unchecked")
+	public static <V> NameIndex<V> empty()
+	{
+		return (NameIndex<V>) EMPTY;
+	}
+
+	/**
+	 * @return A new builder
+	 */
+	public static <V> Builder<V> builder()
+	{
+		return new Builder<V>();
+	}
+
+	/**
+	 * @param name Name to look for (case insensitive)
+	 *
+	 * @return The value associated to the name, or null
+	 */
+	public V get(CharSequence name)
+	{
+		return name == null ? null : get(name, 0, name.length());
+	}
+
+	/**
+	 * @param chars Characters containing the name to look for
+	 * @param from  Index of the first character of the name (inclusive)
+	 * @param to    Index of the last character of the name (exclusive)
+	 *
+	 * @return The value associated to the name, or null
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(CharSequence chars, int from, int to)
+	{
+		int slot = hash(chars, from, to) & mask;
+		String key;
+		while((key = keys[slot]) != null)
+		{
+			if(matches(key, chars, from, to))
+				return (V) values[slot];
+			slot = (slot + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * @param name Name to look for (case insensitive)
+	 *
+	 * @return true if the name is indexed
+	 */
+	public boolean contains(CharSequence name)
+	{
+		return get(name) != null;
+	}
+
+	/**
+	 * @return Number of indexed names
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * @param c Character to fold
+	 *
+	 * @return The case-folded character
+	 */
+	public static char fold(char c)
+	{
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	/**
+	 * @param name Name to fold
+	 *
+	 * @return The case-folded name
+	 */
+	public static String fold(String name)
+	{
+		char[] chars = null;
+		for(int i = 0; i < name.length(); i++)
+		{
+			char c = name.charAt(i);
+			char f = fold(c);
+			if(c != f)
+			{
+				if(chars == null) chars = name.toCharArray();
+				chars[i] = f;
+			}
+		}
+		return chars == null ? name : new String(chars);
+	}
+
+	private static int hash(CharSequence chars, int from, int to)
+	{
+		int h = 0;
+		for(int i = from; i < to; i++)
+			h = 31 * h + fold(chars.charAt(i));
+		return h ^ (h >>> 16);
+	}
+
+	private static boolean matches(String key, CharSequence chars, int from, int to)
+	{
+		if(key.length() != to - from)
+			return false;
+		for(int i = 0; i < key.length(); i++)
+		{
+			if(key.charAt(i) != fold(chars.charAt(from + i)))
+				return false;
+		}
+		return true;
+	}
+
+
+	/**
+	 * Builder of {@link NameIndex}. The first value put for a name wins.
+	 */
+	public static final class Builder<V>
+	{
+		private final List<String> keys = new ArrayList<String>();
+		private final List<V> values = new ArrayList<V>();
+		private final Set<String> known = new HashSet<String>();
+
+		private Builder() {}
+
+		/**
+		 * @param name  Name of the entry (case insensitive)
+		 * @param value Value of the entry
+		 *
+		 * @return true if the entry has been added, false if the name was already indexed
+		 */
+		public boolean put(String name, V value)
+		{
+			if(name == null || value == null)
+				return false;
+
+			String key = fold(name);
+			if(!known.add(key))
+				return false;
+
+			keys.add(key);
+			values.add(value);
+			return true;
+		}
+
+		/**
+		 * @return The immutable index
+		 */
+		public NameIndex<V> build()
+		{
+			return keys.isEmpty() ? NameIndex.<V>empty() : new NameIndex<V>(keys, values);
+		}
+	}
+}
@@ -0,0 +1,301 @@
+package com.github.hexocraftapi.command.util;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Number parsing that never throws.
+ *
+ * Each method returns the parsed value, or null when the value is not a valid
+ * number or is out of the specified bounds. The bounds are checked while parsing.
+ * Only plain decimal notation is accepted (no NaN, Infinity, hexadecimal or type suffix).
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public final class NumberParser
+{
+	// Powers of ten exactly representable as double and float
+	private static final double[] DOUBLE_POW10 = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+		1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+	private static final float[] FLOAT_POW10 = {
+		1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f };
+
+	private NumberParser() {}
+
+	/**
+	 * @param value Value to parse
+	 * @param min   Minimum value (inclusive)
+	 * @param max   Maximum value (inclusive)
+	 *
+	 * @return The parsed value, or null
+	 */
+	public static Integer parseInt(CharSequence value, int min, int max)
+	{
+		return value == null ? null : parseInt(value, 0, value.length(), min, max);
+	}
+
+	/**
+	 * @param chars Characters containing the value to parse
+	 * @param from  Index of the first character (inclusive)
+	 * @param to    Index of the last character (exclusive)
+	 * @param min   Minimum value (inclusive)
+	 * @param max   Maximum value (inclusive)
+	 *
+	 * @return The parsed value, or null
+	 */
+	public static Integer parseInt(CharSequence chars, int from, int to, int min, int max)
+	{
+		long result = parseLong(chars, from, to, min, max, Long.MIN_VALUE);
+		return result == Long.MIN_VALUE ? null : Integer.valueOf((int) result);
+	}
+
+	/**
+	 * @param value Value to parse
+	 * @param min   Minimum value (inclusive)
+	 * @param max   Maximum value (inclusive)
+	 *
+	 * @return The parsed value, or null
+	 */
+	public static Long parseLong(CharSequence value, long min, long max)
+	{
+		if(value == null)
+			return null;
+
+		// Long.MIN_VALUE is both a valid value and the failure marker
+		long result = parseLong(value, 0, value.length(), min, max, Long.MIN_VALUE);
+		if(result != Long.MIN_VALUE)
+			return result;
+		if(min == Long.MIN_VALUE && parseLong(value, 0, value.length(), min, max, 0L) == Long.MIN_VALUE)
+			return Long.MIN_VALUE;
+		return null;
+	}
+
+	/**
+	 * @param value Value to parse
+	 * @param min   Minimum value (inclusive)
+	 * @param max   Maximum value (inclusive)
+	 *
+	 * @return The parsed value, or null
+	 */
+	public static Double parseDouble(CharSequence value, double min, double max)
+	{
+		if(value == null)
+			return null;
+
+		double result = parseDouble(value, 0, value.length());
+		return (result == result && result >= min && result <= max) ? result : null;
+	}
+
+	/**
+	 * @param value Value to parse
+	 * @param min   Minimum value (inclusive)
+	 * @param max   Maximum value (inclusive)
+	 *
+	 * @return The parsed value, or null
+	 */
+	public static Float parseFloat(CharSequence value, float min, float max)
+	{
+		if(value == null)
+			return null;
+
+		float result = parseFloat(value, 0, value.length());
+		return (result == result && result >= min && result <= max) ? result : null;
+	}
+
+	/**
+	 * Parse an integer, failing as soon as it exceeds the bounds.
+	 *
+	 * @return The parsed value, or failure
+	 */
+	private static long parseLong(CharSequence chars, int from, int to, long min, long max, long failure)
+	{
+		if(from >= to)
+			return failure;
+
+		int i = from;
+		boolean negative = false;
+		char first = chars.charAt(i);
+		if(first == '-' || first == '+')
+		{
+			negative = first == '-';
+			if(++i == to)
+				return failure;
+		}
+
+		// Accumulate negatively, like Long.parseLong, to reach Long.MIN_VALUE
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long multmin = limit / 10;
+		long result = 0;
+		for(; i < to; i++)
+		{
+			int digit = chars.charAt(i) - '0';
+			if(digit < 0 || digit > 9 || result < multmin)
+				return failure;
+			result *= 10;
+			if(result < limit + digit)
+				return failure;
+			result -= digit;
+
+			// Out of bounds: more digits would only increase the magnitude
+			if(negative ? result < min : -result > max)
+				return failure;
+		}
+
+		result = negative ? result : -result;
+		return (result >= min && result <= max) ? result : failure;
+	}
+
+	/**
+	 * @return The parsed value, or NaN
+	 */
+	private static double parseDouble(CharSequence chars, int from, int to)
+	{
+		Decimal decimal = Decimal.scan(chars, from, to);
+		if(decimal == null)
+			return Double.NaN;
+
+		// Fast path: mantissa and power of ten are exact doubles, the result is correctly rounded
+		if(decimal.digits <= 15 && decimal.exponent >= -22 && decimal.exponent <= 22)
+		{
+			double value = decimal.exponent < 0 ? decimal.mantissa / DOUBLE_POW10[-decimal.exponent] : decimal.mantissa * DOUBLE_POW10[decimal.exponent];
+			if(decimal.exponent <= 0 || value < 9007199254740992d)
+				return decimal.negative ? -value : value;
+		}
+
+		// The syntax has been validated, this can't throw
+		return Double.parseDouble(chars.subSequence(from, to).toString());
+	}
+
+	/**
+	 * @return The parsed value, or NaN
+	 */
+	private static float parseFloat(CharSequence chars, int from, int to)
+	{
+		Decimal decimal = Decimal.scan(chars, from, to);
+		if(decimal == null)
+			return Float.NaN;
+
+		// Fast path: mantissa and power of ten are exact floats, the result is correctly rounded
+		if(decimal.digits <= 7 && decimal.exponent >= -10 && decimal.exponent <= 10)
+		{
+			float mantissa = (float) decimal.mantissa;
+			float value = decimal.exponent < 0 ? mantissa / FLOAT_POW10[-decimal.exponent] : mantissa * FLOAT_POW10[decimal.exponent];
+			if(decimal.exponent <= 0 || value < 16777216f)
+				return decimal.negative ? -value : value;
+		}
+
+		// The syntax has been validated, this can't throw
+		return Float.parseFloat(chars.subSequence(from, to).toString());
+	}
+
+
+	/**
+	 * Result of the syntax validation of a decimal number: [+-]digits[.digits][(e|E)[+-]digits]
+	 */
+	private static final class Decimal
+	{
+		boolean negative;
+		long mantissa;     // significant digits, without leading zeros (exact if digits <= 18)
+		int digits;        // number of significant digits
+		int exponent;      // value = mantissa * 10^exponent (only if digits <= 18)
+
+		private static Decimal scan(CharSequence chars, int from, int to)
+		{
+			if(from >= to)
+				return null;
+
+			Decimal decimal = new Decimal();
+			int i = from;
+			char c = chars.charAt(i);
+			if(c == '-' || c == '+')
+			{
+				decimal.negative = c == '-';
+				i++;
+			}
+
+			int intDigits = 0;
+			int fracDigits = 0;
+			int fracExponent = 0;
+
+			// Integer part
+			for(; i < to && (c = chars.charAt(i)) >= '0' && c <= '9'; i++, intDigits++)
+				decimal.add(c, false);
+
+			// Fraction part
+			if(i < to && chars.charAt(i) == '.')
+			{
+				for(i++; i < to && (c = chars.charAt(i)) >= '0' && c <= '9'; i++, fracDigits++)
+				{
+					if(decimal.add(c, true))
+						fracExponent--;
+				}
+			}
+
+			if(intDigits == 0 && fracDigits == 0)
+				return null;
+
+			// Exponent
+			int exponent = 0;
+			if(i < to && ((c = chars.charAt(i)) == 'e' || c == 'E'))
+			{
+				boolean negativeExponent = false;
+				if(++i < to && ((c = chars.charAt(i)) == '-' || c == '+'))
+				{
+					negativeExponent = c == '-';
+					i++;
+				}
+				if(i == to)
+					return null;
+				for(; i < to && (c = chars.charAt(i)) >= '0' && c <= '9'; i++)
+				{
+					if(exponent < 100000)
+						exponent = exponent * 10 + (c - '0');
+				}
+				if(negativeExponent)
+					exponent = -exponent;
+			}
+
+			if(i != to)
+				return null;
+
+			decimal.exponent += exponent + fracExponent;
+			return decimal;
+		}
+
+		/**
+		 * @return true if the digit is kept in the mantissa
+		 */
+		private boolean add(char c, boolean fraction)
+		{
+			// Leading zeros are not significant
+			if(digits == 0 && c == '0')
+				return fraction;
+
+			digits++;
+			if(digits <= 18)
+			{
+				mantissa = mantissa * 10 + (c - '0');
+				return fraction;
+			}
+
+			// Dropped integer digit: the value is multiplied by ten
+			if(!fraction)
+				exponent++;
+			return false;
+		}
+	}
+}
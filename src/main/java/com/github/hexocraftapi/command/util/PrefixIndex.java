@@ -0,0 +1,250 @@
+package com.github.hexocraftapi.command.util;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable, case-insensitive index of names supporting exact lookup and prefix completion.
+ *
+ * The names are case-folded and sorted once. An exact lookup is a hash hit
+ * ({@link NameIndex}), a prefix lookup is two binary searches returning a range
+ * of the sorted names.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public final class PrefixIndex<V>
+{
+	private static final PrefixIndex<?> EMPTY = new PrefixIndex<Object>(new String[0], new String[0], new Object[0], NameIndex.empty());
+
+	private final String[] keys;
+	private final String[] names;
+	private final Object[] values;
+	private final NameIndex<V> index;
+
+	private PrefixIndex(String[] keys, String[] names, Object[] values, NameIndex<V> index)
+	{
+		this.keys = keys;
+		this.names = names;
+		this.values = values;
+		this.index = index;
+	}
+
+	/**
+	 * @return An empty index
+	 */
+	@SuppressWarnings("unchecked")
+	public static <V> PrefixIndex<V> empty()
+	{
+		return (PrefixIndex<V>) EMPTY;
+	}
+
+	/**
+	 * @return A new builder
+	 */
+	public static <V> Builder<V> builder()
+	{
+		return new Builder<V>();
+	}
+
+	/**
+	 * @param name Name to look for (case insensitive)
+	 *
+	 * @return The value associated to the name, or null
+	 */
+	public V get(CharSequence name)
+	{
+		return index.get(name);
+	}
+
+	/**
+	 * @param chars Characters containing the name to look for
+	 * @param from  Index of the first character of the name (inclusive)
+	 * @param to    Index of the last character of the name (exclusive)
+	 *
+	 * @return The value associated to the name, or null
+	 */
+	public V get(CharSequence chars, int from, int to)
+	{
+		return index.get(chars, from, to);
+	}
+
+	/**
+	 * @return Number of indexed names
+	 */
+	public int size()
+	{
+		return keys.length;
+	}
+
+	/**
+	 * @param i Position in the sorted index
+	 *
+	 * @return The name at this position
+	 */
+	public String getName(int i)
+	{
+		return names[i];
+	}
+
+	/**
+	 * @param i Position in the sorted index
+	 *
+	 * @return The value at this position
+	 */
+	@SuppressWarnings("unchecked")
+	public V getValue(int i)
+	{
+		return (V) values[i];
+	}
+
+	/**
+	 * @param prefix Prefix (case insensitive)
+	 *
+	 * @return Position of the first name starting with the prefix
+	 */
+	public int from(CharSequence prefix)
+	{
+		int low = 0, high = keys.length;
+		while(low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if(compare(keys[mid], prefix) < 0) low = mid + 1;
+			else high = mid;
+		}
+		return low;
+	}
+
+	/**
+	 * @param prefix Prefix (case insensitive)
+	 *
+	 * @return Position following the last name starting with the prefix
+	 */
+	public int to(CharSequence prefix)
+	{
+		int low = 0, high = keys.length;
+		while(low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if(compare(keys[mid], prefix) <= 0) low = mid + 1;
+			else high = mid;
+		}
+		return low;
+	}
+
+	/**
+	 * @param prefix Prefix (case insensitive)
+	 *
+	 * @return A new list of the names starting with the prefix, sorted
+	 */
+	public List<String> complete(CharSequence prefix)
+	{
+		if(prefix == null || prefix.length() == 0)
+			return new ArrayList<String>(Arrays.asList(names));
+
+		int from = from(prefix);
+		int to = to(prefix);
+		return new ArrayList<String>(Arrays.asList(names).subList(from, Math.max(from, to)));
+	}
+
+	/**
+	 * Compare the beginning of a key with a prefix
+	 *
+	 * @return 0 if the key starts with the prefix, the order of the key relative to the prefix otherwise
+	 */
+	private static int compare(String key, CharSequence prefix)
+	{
+		int length = Math.min(key.length(), prefix.length());
+		for(int i = 0; i < length; i++)
+		{
+			int diff = key.charAt(i) - NameIndex.fold(prefix.charAt(i));
+			if(diff != 0)
+				return diff;
+		}
+		return key.length() < prefix.length() ? -1 : 0;
+	}
+
+
+	/**
+	 * Builder of {@link PrefixIndex}. The first value put for a name wins.
+	 */
+	public static final class Builder<V>
+	{
+		private final List<String> names = new ArrayList<String>();
+		private final List<V> values = new ArrayList<V>();
+		private final NameIndex.Builder<V> index = NameIndex.builder();
+
+		private Builder() {}
+
+		/**
+		 * @param name  Name of the entry (case insensitive)
+		 * @param value Value of the entry
+		 *
+		 * @return true if the entry has been added, false if the name was already indexed
+		 */
+		public boolean put(String name, V value)
+		{
+			if(!index.put(name, value))
+				return false;
+
+			names.add(name);
+			values.add(value);
+			return true;
+		}
+
+		/**
+		 * @return The immutable index
+		 */
+		public PrefixIndex<V> build()
+		{
+			if(names.isEmpty())
+				return PrefixIndex.empty();
+
+			final String[] keys = new String[names.size()];
+			Integer[] order = new Integer[keys.length];
+			for(int i = 0; i < keys.length; i++)
+			{
+				keys[i] = NameIndex.fold(names.get(i));
+				order[i] = i;
+			}
+
+			Arrays.sort(order, new Comparator<Integer>()
+			{
+				@Override
+				public int compare(Integer a, Integer b)
+				{
+					return keys[a].compareTo(keys[b]);
+				}
+			});
+
+			String[] sortedKeys = new String[keys.length];
+			String[] sortedNames = new String[keys.length];
+			Object[] sortedValues = new Object[keys.length];
+			for(int i = 0; i < keys.length; i++)
+			{
+				sortedKeys[i] = keys[order[i]];
+				sortedNames[i] = names.get(order[i]);
+				sortedValues[i] = values.get(order[i]);
+			}
+
+			return new PrefixIndex<V>(sortedKeys, sortedNames, sortedValues, index.build());
+		}
+	}
+}
@@ -0,0 +1,314 @@
+package com.github.hexocraftapi.command.util;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable, case-insensitive index of names returning the closest name to a misspelled one.
+ *
+ * The names are case-folded and indexed by their bigrams, including a start and an end bigram.
+ * An edit changes at most two bigrams, so a name within k edits of the searched one shares at least
+ * {@code max(length) + 1 - 2k} bigrams with it. Only the names sharing enough bigrams are compared
+ * with the edit distance (Levenshtein), instead of computing the distance to every name.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public final class SuggestionIndex
+{
+	private static final SuggestionIndex EMPTY = new SuggestionIndex(new String[0], new String[0], new int[1], new int[1][], 0);
+
+	private static final char BOUND = '\u0000';
+
+	private final String[] keys;
+	private final String[] names;
+	private final int maxLength;
+
+	// Open addressing map: bigram -> ids of the names containing it
+	private final int[] grams;
+	private final int[][] postings;
+	private final int mask;
+
+	private SuggestionIndex(String[] keys, String[] names, int[] grams, int[][] postings, int maxLength)
+	{
+		this.keys = keys;
+		this.names = names;
+		this.grams = grams;
+		this.postings = postings;
+		this.mask = grams.length - 1;
+		this.maxLength = maxLength;
+	}
+
+	/**
+	 * @return An empty index
+	 */
+	public static SuggestionIndex empty()
+	{
+		return EMPTY;
+	}
+
+	/**
+	 * @return A new builder
+	 */
+	public static Builder builder()
+	{
+		return new Builder();
+	}
+
+	/**
+	 * @return Number of names
+	 */
+	public int size()
+	{
+		return keys.length;
+	}
+
+	/**
+	 * @param length Length of a misspelled name
+	 *
+	 * @return Default maximum edit distance of the suggestions for this length
+	 */
+	public static int tolerance(int length)
+	{
+		return length <= 3 ? 1 : (length <= 7 ? 2 : 3);
+	}
+
+	/**
+	 * @param name Misspelled name (case insensitive)
+	 *
+	 * @return The closest name, within the default tolerance, or null
+	 */
+	public String suggest(String name)
+	{
+		return name == null ? null : suggest(name, tolerance(name.length()));
+	}
+
+	/**
+	 * @param name        Misspelled name (case insensitive)
+	 * @param maxDistance Maximum edit distance
+	 *
+	 * @return The closest name, or null if no name is within the maximum distance.
+	 *         Among the closest names, the first added one is returned.
+	 */
+	public String suggest(String name, int maxDistance)
+	{
+		if(keys.length == 0 || name == null || name.isEmpty() || maxDistance < 0)
+			return null;
+
+		String key = NameIndex.fold(name);
+		int length = key.length();
+		int[] previous = new int[Math.max(length, maxLength) + 1];
+		int[] current = new int[previous.length];
+
+		int best = -1;
+		int bestDistance = maxDistance + 1;
+
+		// Too short to filter by bigrams: compare with every name of a close length
+		if(length + 1 - 2 * maxDistance <= 0)
+		{
+			for(int id = 0; id < keys.length; id++)
+			{
+				if(Math.abs(keys[id].length() - length) >= bestDistance) continue;
+				int distance = distance(key, keys[id], previous, current, bestDistance - 1);
+				if(distance <= bestDistance - 1)
+				{
+					best = id;
+					bestDistance = distance;
+				}
+			}
+			return best < 0 ? null : names[best];
+		}
+
+		// Count the bigrams shared with each name
+		int[] shared = new int[keys.length];
+		for(int i = 0; i <= length; i++)
+		{
+			int[] ids = postings(gram(key, i));
+			if(ids == null) continue;
+			for(int id : ids)
+				shared[id]++;
+		}
+
+		// Compare the candidates, with an increasing tolerance: the closer, the stronger the filter
+		for(int tolerance = Math.min(1, maxDistance); tolerance <= maxDistance; tolerance++)
+		{
+			for(int id = 0; id < keys.length; id++)
+			{
+				int count = shared[id];
+				if(count == 0) continue;
+
+				String candidate = keys[id];
+				if(Math.abs(candidate.length() - length) > tolerance) continue;
+				if(count < Math.max(candidate.length(), length) + 1 - 2 * tolerance) continue;
+
+				// A candidate beyond the tolerance may not be the closest: a closer one can be filtered out at this tolerance
+				int bound = Math.min(bestDistance - 1, tolerance);
+				int distance = distance(key, candidate, previous, current, bound);
+				if(distance <= bound)
+				{
+					best = id;
+					bestDistance = distance;
+				}
+			}
+
+			// All the names within the tolerance have been compared: no closer name can be found with a greater tolerance
+			if(best >= 0)
+				return names[best];
+		}
+
+		return null;
+	}
+
+	private int[] postings(int gram)
+	{
+		int slot = mix(gram) & mask;
+		while(postings[slot] != null)
+		{
+			if(grams[slot] == gram)
+				return postings[slot];
+			slot = (slot + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * @return The i-th bigram of the key, from 0 (start bigram) to length (end bigram)
+	 */
+	private static int gram(String key, int i)
+	{
+		char first = i == 0 ? BOUND : key.charAt(i - 1);
+		char second = i == key.length() ? BOUND : key.charAt(i);
+		return (first << 16) | second;
+	}
+
+	private static int mix(int gram)
+	{
+		int h = gram * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Levenshtein distance, using two preallocated rows
+	 *
+	 * @return The distance, or a value greater than bound if the distance is greater than bound
+	 */
+	private static int distance(String a, String b, int[] previous, int[] current, int bound)
+	{
+		int n = b.length();
+		for(int j = 0; j <= n; j++)
+			previous[j] = j;
+
+		for(int i = 1; i <= a.length(); i++)
+		{
+			current[0] = i;
+			char ca = a.charAt(i - 1);
+			int min = i;
+			for(int j = 1; j <= n; j++)
+			{
+				int cost = ca == b.charAt(j - 1) ? 0 : 1;
+				current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+				if(current[j] < min) min = current[j];
+			}
+			// The distance can only grow from the minimum of a row
+			if(min > bound)
+				return bound + 1;
+			int[] row = previous;
+			previous = current;
+			current = row;
+		}
+		return previous[n];
+	}
+
+	public static final class Builder
+	{
+		private final List<String> names = new ArrayList<String>();
+		private final Set<String> keys = new HashSet<String>();
+
+		private Builder() {}
+
+		/**
+		 * @param name Name to add, ignored if already added (case insensitive)
+		 *
+		 * @return The builder
+		 */
+		public Builder put(String name)
+		{
+			if(name != null && !name.isEmpty() && keys.add(NameIndex.fold(name)))
+				names.add(name);
+			return this;
+		}
+
+		/**
+		 * @return The immutable index
+		 */
+		public SuggestionIndex build()
+		{
+			if(names.isEmpty())
+				return SuggestionIndex.empty();
+
+			String[] keys = new String[names.size()];
+			int maxLength = 0;
+			int gramCount = 0;
+			for(int id = 0; id < keys.length; id++)
+			{
+				keys[id] = NameIndex.fold(names.get(id));
+				maxLength = Math.max(maxLength, keys[id].length());
+				gramCount += keys[id].length() + 1;
+			}
+
+			int capacity = 2;
+			while(capacity < gramCount * 2)
+				capacity <<= 1;
+			int mask = capacity - 1;
+			int[] grams = new int[capacity];
+			int[][] postings = new int[capacity][];
+			int[] sizes = new int[capacity];
+
+			// Each occurrence of a bigram is a posting, so repeated bigrams are counted as often as they appear
+			for(int id = 0; id < keys.length; id++)
+			{
+				for(int i = 0; i <= keys[id].length(); i++)
+				{
+					int gram = gram(keys[id], i);
+					int slot = mix(gram) & mask;
+					while(postings[slot] != null && grams[slot] != gram)
+						slot = (slot + 1) & mask;
+
+					if(postings[slot] == null)
+					{
+						grams[slot] = gram;
+						postings[slot] = new int[2];
+					}
+					else if(sizes[slot] == postings[slot].length)
+						postings[slot] = Arrays.copyOf(postings[slot], sizes[slot] * 2);
+					postings[slot][sizes[slot]++] = id;
+				}
+			}
+			for(int slot = 0; slot < capacity; slot++)
+			{
+				if(postings[slot] != null)
+					postings[slot] = Arrays.copyOf(postings[slot], sizes[slot]);
+			}
+
+			return new SuggestionIndex(keys, names.toArray(new String[keys.length]), grams, postings, maxLength);
+		}
+	}
+}
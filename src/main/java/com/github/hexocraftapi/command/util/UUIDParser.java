@@ -0,0 +1,89 @@
+package com.github.hexocraftapi.command.util;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.UUID;
+
+/**
+ * UUID parsing that never throws.
+ *
+ * Only the canonical form is accepted: 36 characters, hexadecimal digits
+ * grouped 8-4-4-4-12 and separated by hyphens.
+ *
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public final class UUIDParser
+{
+	private UUIDParser() {}
+
+	/**
+	 * @param value Value to parse
+	 *
+	 * @return true if the value is a UUID in canonical form
+	 */
+	public static boolean isUUID(CharSequence value)
+	{
+		if(value == null || value.length() != 36)
+			return false;
+
+		for(int i = 0; i < 36; i++)
+		{
+			char c = value.charAt(i);
+			if(i == 8 || i == 13 || i == 18 || i == 23)
+			{
+				if(c != '-') return false;
+			}
+			else if(hex(c) < 0)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @param value Value to parse
+	 *
+	 * @return The parsed UUID, or null
+	 */
+	public static UUID parseUUID(CharSequence value)
+	{
+		if(!isUUID(value))
+			return null;
+
+		long most = 0;
+		long least = 0;
+		int digits = 0;
+		for(int i = 0; i < 36; i++)
+		{
+			int digit = hex(value.charAt(i));
+			if(digit < 0) continue;
+
+			if(digits++ < 16)
+				most = (most << 4) | digit;
+			else
+				least = (least << 4) | digit;
+		}
+		return new UUID(most, least);
+	}
+
+	private static int hex(char c)
+	{
+		if(c >= '0' && c <= '9') return c - '0';
+		if(c >= 'a' && c <= 'f') return c - 'a' + 10;
+		if(c >= 'A' && c <= 'F') return c - 'A' + 10;
+		return -1;
+	}
+}
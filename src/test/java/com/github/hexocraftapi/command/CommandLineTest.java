@@ -0,0 +1,191 @@
+package com.github.hexocraftapi.command;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public class CommandLineTest
+{
+	@Test
+	public void spacesSeparateTokens()
+	{
+		assertEquals(Arrays.asList("give", "steve", "stone"), tokens("give", "steve", "stone"));
+		// The server gives empty arguments for consecutive spaces, no empty token is kept
+		assertEquals(Arrays.asList("give", "steve"), tokens("", "give", "", "", "steve", ""));
+		assertTrue(CommandLine.parse(new String[0], false).isEmpty());
+		assertTrue(CommandLine.parse(null, false).isEmpty());
+	}
+
+	@Test
+	public void quotesGroupWords()
+	{
+		assertEquals(Arrays.asList("say", "hello world"), tokens("say", "\"hello", "world\""));
+		assertEquals(Arrays.asList("say", "hello world"), tokens("say", "'hello", "world'"));
+		assertEquals(Arrays.asList("it's", "\"a\""), tokens("\"it's\"", "'\"a\"'"));
+		assertEquals(Collections.singletonList(""), tokens("\"\""));
+	}
+
+	@Test
+	public void unclosedQuoteRunsUntilTheEnd()
+	{
+		assertEquals(Arrays.asList("say", "hello  world "), tokens("say", "\"hello", "", "world", ""));
+	}
+
+	@Test
+	public void backslashEscapesQuoteSpaceAndBackslash()
+	{
+		assertEquals(Arrays.asList("a b", "\"q\"", "c\\d"), tokens("a\\", "b", "\\\"q\\\"", "c\\\\d"));
+		assertEquals(Collections.singletonList("say \"hi\""), tokens("\"say", "\\\"hi\\\"\""));
+	}
+
+	@Test
+	public void backslashKeptBeforeOtherCharacters()
+	{
+		assertEquals(Collections.singletonList("C:\\path\\x"), tokens("C:\\path\\x"));
+		assertEquals(Collections.singletonList("end\\"), tokens("end\\"));
+	}
+
+	@Test
+	public void trailingEmptyTokenForCompletion()
+	{
+		assertEquals(Arrays.asList("give", ""), CommandLine.parse(new String[] { "give", "" }, true).asList());
+		assertEquals(Collections.singletonList("give"), CommandLine.parse(new String[] { "give", "" }, false).asList());
+		assertEquals(Collections.singletonList("give"), CommandLine.parse(new String[] { "give" }, true).asList());
+	}
+
+	@Test
+	public void positionsInTheRawLine()
+	{
+		CommandLine line = CommandLine.parse(new String[] { "give", "", "\"a", "b\"", "c" }, false);
+		assertEquals(0, line.getPosition(0));
+		assertEquals(6, line.getPosition(1));
+		assertEquals(12, line.getPosition(2));
+	}
+
+	@Test
+	public void subLineIsAView()
+	{
+		CommandLine line = CommandLine.parse(new String[] { "a", "b", "c" }, false);
+		CommandLine sub = line.subLine(1);
+		assertEquals(Arrays.asList("b", "c"), sub.asList());
+		assertEquals(Collections.singletonList("c"), sub.subLine(1).asList());
+		assertEquals("b c", sub.join(0));
+		assertEquals(2, sub.getPosition(0));
+		assertTrue(line.subLine(3).isEmpty());
+		assertTrue(line.subLine(5).isEmpty());
+		assertEquals(line.asList(), line.subLine(0).asList());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void subLineHidesPreviousTokens()
+	{
+		CommandLine.parse(new String[] { "a", "b" }, false).subLine(1).get(1);
+	}
+
+	@Test
+	public void tooManyTokens()
+	{
+		String[] args = new String[CommandLine.MAX_TOKENS];
+		Arrays.fill(args, "a");
+		assertFalse(CommandLine.parse(args, false).isOverflow());
+		assertEquals(CommandLine.MAX_TOKENS, CommandLine.parse(args, false).size());
+
+		args = Arrays.copyOf(args, CommandLine.MAX_TOKENS + 1);
+		args[CommandLine.MAX_TOKENS] = "a";
+		assertTrue(CommandLine.parse(args, false).isOverflow());
+	}
+
+	@Test
+	public void tokenTooLong()
+	{
+		char[] token = new char[CommandLine.MAX_TOKEN_LENGTH];
+		Arrays.fill(token, 'a');
+		assertFalse(CommandLine.parse(new String[] { new String(token) }, false).isOverflow());
+		assertTrue(CommandLine.parse(new String[] { new String(token) + "a" }, false).isOverflow());
+		// An escaping backslash does not count in the length of the token
+		token[0] = '\\';
+		CommandLine escaped = CommandLine.parse(new String[] { "\\" + new String(token) }, false);
+		assertFalse(escaped.isOverflow());
+		assertEquals(CommandLine.MAX_TOKEN_LENGTH, escaped.get(0).length());
+	}
+
+	@Test
+	public void lineTooLong()
+	{
+		char[] line = new char[CommandLine.MAX_LINE_LENGTH + 1];
+		Arrays.fill(line, ' ');
+		CommandLine parsed = CommandLine.parse(new String[] { new String(line) }, false);
+		assertTrue(parsed.isOverflow());
+		assertTrue(parsed.isEmpty());
+	}
+
+	@Test
+	public void argsParseBackToTheSameTokens()
+	{
+		Random random = new Random(42);
+		char[] alphabet = { 'a', ' ', '"', '\'', '\\' };
+		for(int round = 0; round < 10000; round++)
+		{
+			String[] tokens = new String[random.nextInt(4)];
+			for(int i = 0; i < tokens.length; i++)
+			{
+				char[] chars = new char[random.nextInt(5)];
+				for(int j = 0; j < chars.length; j++)
+					chars[j] = alphabet[random.nextInt(alphabet.length)];
+				tokens[i] = new String(chars);
+			}
+
+			// Quote the tokens a first time, then check that the quoted arguments give them back
+			String[] args = CommandLine.parse(CommandLine.parse(quoted(tokens), false).toArgs(), false).toArgs();
+			assertEquals(Arrays.toString(tokens), Arrays.asList(tokens), CommandLine.parse(args, false).asList());
+		}
+	}
+
+	private static List<String> tokens(String... args)
+	{
+		return CommandLine.parse(args, false).asList();
+	}
+
+	private static String[] quoted(String[] tokens)
+	{
+		String[] args = new String[tokens.length];
+		for(int i = 0; i < tokens.length; i++)
+		{
+			StringBuilder builder = new StringBuilder("\"");
+			for(char c : tokens[i].toCharArray())
+			{
+				if(c == '"' || c == '\\')
+					builder.append('\\');
+				builder.append(c);
+			}
+			args[i] = builder.append('"').toString();
+		}
+		return args;
+	}
+}
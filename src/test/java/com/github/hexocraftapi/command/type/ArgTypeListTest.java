@@ -0,0 +1,126 @@
+package com.github.hexocraftapi.command.type;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.hexocraftapi.command.CommandInfo;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public class ArgTypeListTest
+{
+	private final ArgTypeList<Integer> integers = ArgTypeList.of(ArgTypeInteger.range(0, 100), ',');
+
+	@Test
+	public void parseElements()
+	{
+		assertEquals(Arrays.asList(1, 2, 3), integers.get("1,2,3"));
+		assertEquals(Arrays.asList(1, 2), integers.get(",1,,2,"));
+		assertTrue(integers.check("1,2,3"));
+		assertEquals(-1, integers.indexOfInvalid("1,2,3"));
+	}
+
+	@Test
+	public void stopAtTheFirstInvalidElement()
+	{
+		assertNull(integers.get("1,x,101"));
+		assertFalse(integers.check("1,x,101"));
+		assertEquals(2, integers.indexOfInvalid("1,x,101"));
+		assertEquals(4, integers.indexOfInvalid("1,2,101,x"));
+		assertEquals(0, integers.indexOfInvalid("-1"));
+	}
+
+	@Test
+	public void rejectValueWithoutElement()
+	{
+		assertNull(integers.get(""));
+		assertFalse(integers.check(""));
+		assertFalse(integers.check(",,"));
+		assertEquals(0, integers.indexOfInvalid(""));
+		assertFalse(integers.check(null));
+		assertNull(integers.get(null));
+		assertFalse(ArgTypeStringList.get().check(""));
+		assertFalse(ArgTypeStringList.get().check("  "));
+	}
+
+	@Test
+	public void spaceSeparatedWords()
+	{
+		assertEquals(Arrays.asList("hello", "world"), ArgTypeStringList.get().get("hello  world"));
+	}
+
+	@Test
+	public void suggestReplacesTheInvalidElement()
+	{
+		ArgTypeList<String> colors = ArgTypeList.of(new Colors(), ',');
+		assertEquals("red,green,blue", colors.suggest("red,gren,blue"));
+		assertNull(colors.suggest("red,green"));
+		assertNull(colors.suggest("red,xxxxx"));
+		assertNull(colors.suggest(""));
+		assertNull(integers.suggest("1,x"));
+	}
+
+	@Test
+	public void listOfMainThreadType()
+	{
+		assertTrue(ArgTypeList.of(new MainThreadColors(), ',') instanceof MainThreadArgType);
+		assertFalse(ArgTypeList.of(new Colors(), ',') instanceof MainThreadArgType);
+	}
+
+
+	private static class Colors implements ArgType<String>, SuggestArgType
+	{
+		private static final List<String> COLORS = Arrays.asList("red", "green", "blue");
+
+		@Override
+		public boolean check(String value)
+		{
+			return get(value) != null;
+		}
+
+		@Override
+		public String get(String value)
+		{
+			return COLORS.contains(value) ? value : null;
+		}
+
+		@Override
+		public List<String> tabComplete(CommandInfo commandInfo)
+		{
+			return COLORS;
+		}
+
+		@Override
+		public String suggest(String value)
+		{
+			return "gren".equals(value) ? "green" : null;
+		}
+	}
+
+	private static class MainThreadColors extends Colors implements MainThreadArgType
+	{
+	}
+}
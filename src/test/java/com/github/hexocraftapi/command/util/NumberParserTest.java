@@ -0,0 +1,143 @@
+package com.github.hexocraftapi.command.util;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public class NumberParserTest
+{
+	@Test
+	public void integers()
+	{
+		assertEquals(Integer.valueOf(42), NumberParser.parseInt("42", Integer.MIN_VALUE, Integer.MAX_VALUE));
+		assertEquals(Integer.valueOf(-42), NumberParser.parseInt("-42", Integer.MIN_VALUE, Integer.MAX_VALUE));
+		assertEquals(Integer.valueOf(42), NumberParser.parseInt("+42", Integer.MIN_VALUE, Integer.MAX_VALUE));
+		assertEquals(Integer.valueOf(0), NumberParser.parseInt("-0", Integer.MIN_VALUE, Integer.MAX_VALUE));
+		assertEquals(Integer.valueOf(Integer.MAX_VALUE), NumberParser.parseInt("2147483647", Integer.MIN_VALUE, Integer.MAX_VALUE));
+		assertEquals(Integer.valueOf(Integer.MIN_VALUE), NumberParser.parseInt("-2147483648", Integer.MIN_VALUE, Integer.MAX_VALUE));
+		assertEquals(Long.valueOf(Long.MAX_VALUE), NumberParser.parseLong("9223372036854775807", Long.MIN_VALUE, Long.MAX_VALUE));
+		assertEquals(Long.valueOf(Long.MIN_VALUE), NumberParser.parseLong("-9223372036854775808", Long.MIN_VALUE, Long.MAX_VALUE));
+	}
+
+	@Test
+	public void integersOutOfBounds()
+	{
+		assertNull(NumberParser.parseInt("2147483648", Integer.MIN_VALUE, Integer.MAX_VALUE));
+		assertNull(NumberParser.parseInt("-2147483649", Integer.MIN_VALUE, Integer.MAX_VALUE));
+		assertNull(NumberParser.parseLong("9223372036854775808", Long.MIN_VALUE, Long.MAX_VALUE));
+		assertNull(NumberParser.parseLong("-9223372036854775809", Long.MIN_VALUE, Long.MAX_VALUE));
+		assertNull(NumberParser.parseLong("99999999999999999999999999", Long.MIN_VALUE, Long.MAX_VALUE));
+		assertNull(NumberParser.parseInt("11", 0, 10));
+		assertNull(NumberParser.parseInt("-1", 0, 10));
+		assertEquals(Integer.valueOf(10), NumberParser.parseInt("10", 0, 10));
+	}
+
+	@Test
+	public void integersRejected()
+	{
+		for(String value : new String[] { "", "-", "+", "1.0", "1e3", "0x10", "1L", " 1", "1 ", "--1", "\u0661" })
+			assertNull(value, NumberParser.parseLong(value, Long.MIN_VALUE, Long.MAX_VALUE));
+		assertNull(NumberParser.parseInt(null, Integer.MIN_VALUE, Integer.MAX_VALUE));
+	}
+
+	@Test
+	public void integerRange()
+	{
+		assertEquals(Integer.valueOf(5), NumberParser.parseInt("a5b", 1, 2, Integer.MIN_VALUE, Integer.MAX_VALUE));
+		assertNull(NumberParser.parseInt("a5b", 1, 1, Integer.MIN_VALUE, Integer.MAX_VALUE));
+	}
+
+	@Test
+	public void decimals()
+	{
+		assertEquals(Double.valueOf(1.5), NumberParser.parseDouble("1.5", -Double.MAX_VALUE, Double.MAX_VALUE));
+		assertEquals(Double.valueOf(0.5), NumberParser.parseDouble(".5", -Double.MAX_VALUE, Double.MAX_VALUE));
+		assertEquals(Double.valueOf(1.0), NumberParser.parseDouble("1.", -Double.MAX_VALUE, Double.MAX_VALUE));
+		assertEquals(Double.valueOf(-0.0), NumberParser.parseDouble("-0", -Double.MAX_VALUE, Double.MAX_VALUE));
+		assertEquals(Float.valueOf(-0.0f), NumberParser.parseFloat("-0.0", -Float.MAX_VALUE, Float.MAX_VALUE));
+		assertEquals(Double.valueOf(1.5e300), NumberParser.parseDouble("1.5E+300", -Double.MAX_VALUE, Double.MAX_VALUE));
+		assertEquals(Double.valueOf(0.0), NumberParser.parseDouble("1e-999999999", -Double.MAX_VALUE, Double.MAX_VALUE));
+		assertEquals(Double.valueOf(0.1), NumberParser.parseDouble("0.1000000000000000000000000001", -Double.MAX_VALUE, Double.MAX_VALUE));
+	}
+
+	@Test
+	public void decimalsOutOfBounds()
+	{
+		// Exponent overflow gives an infinity, out of the finite bounds
+		assertNull(NumberParser.parseDouble("1e999999999", -Double.MAX_VALUE, Double.MAX_VALUE));
+		assertNull(NumberParser.parseDouble("-1e99999999999999999999", -Double.MAX_VALUE, Double.MAX_VALUE));
+		assertNull(NumberParser.parseFloat("1e39", -Float.MAX_VALUE, Float.MAX_VALUE));
+		assertNull(NumberParser.parseDouble("10.5", 0, 10));
+		assertEquals(Double.valueOf(10), NumberParser.parseDouble("10", 0, 10));
+	}
+
+	@Test
+	public void decimalsRejected()
+	{
+		for(String value : new String[] { "", "-", ".", "e5", "1e", "1e+", "1.5.2", "NaN", "-Infinity", "Infinity", "0x1p3", "0x10", "1f", "1d", " 1", "1 " })
+		{
+			assertNull(value, NumberParser.parseDouble(value, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY));
+			assertNull(value, NumberParser.parseFloat(value, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY));
+		}
+		assertNull(NumberParser.parseDouble(null, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY));
+	}
+
+	@Test
+	public void matchesJdk()
+	{
+		Random random = new Random(42);
+		for(int round = 0; round < 100000; round++)
+		{
+			String value = randomDecimal(random);
+			assertEquals(value, Double.valueOf(value), NumberParser.parseDouble(value, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY));
+			assertEquals(value, Float.valueOf(value), NumberParser.parseFloat(value, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY));
+		}
+		for(int round = 0; round < 100000; round++)
+		{
+			long expected = random.nextLong() >> random.nextInt(64);
+			assertEquals(Long.valueOf(expected), NumberParser.parseLong(Long.toString(expected), Long.MIN_VALUE, Long.MAX_VALUE));
+		}
+	}
+
+	private static String randomDecimal(Random random)
+	{
+		StringBuilder builder = new StringBuilder();
+		if(random.nextBoolean())
+			builder.append(random.nextBoolean() ? '-' : '+');
+		int intDigits = random.nextInt(22);
+		for(int i = 0; i < intDigits; i++)
+			builder.append((char) ('0' + random.nextInt(10)));
+		if(intDigits == 0 || random.nextBoolean())
+		{
+			builder.append('.');
+			int fracDigits = intDigits == 0 ? 1 + random.nextInt(22) : random.nextInt(22);
+			for(int i = 0; i < fracDigits; i++)
+				builder.append((char) ('0' + random.nextInt(10)));
+		}
+		if(random.nextInt(3) == 0)
+			builder.append(random.nextBoolean() ? 'e' : 'E').append(random.nextInt(80) - 40);
+		return builder.toString();
+	}
+}
@@ -0,0 +1,114 @@
+package com.github.hexocraftapi.command.util;
+
+/*
+ * Copyright 2016 hexosse
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author <b>Hexosse</b> (<a href="https://github.com/hexosse">on GitHub</a>))
+ */
+public class SuggestionIndexTest
+{
+	@Test
+	public void closerNameFoundAtLowerTolerance()
+	{
+		SuggestionIndex index = SuggestionIndex.builder().put("acaacaab").put("baaaaa").build();
+		assertEquals("baaaaa", index.suggest("abaaacaa", 3));
+	}
+
+	@Test
+	public void exactNameWithoutTolerance()
+	{
+		SuggestionIndex index = SuggestionIndex.builder().put("reload").put("help").build();
+		assertEquals("help", index.suggest("HELP", 0));
+		assertNull(index.suggest("helpp", 0));
+	}
+
+	@Test
+	public void matchesBruteForce()
+	{
+		Random random = new Random(42);
+		for(int round = 0; round < 200; round++)
+		{
+			SuggestionIndex.Builder builder = SuggestionIndex.builder();
+			List<String> names = new ArrayList<String>();
+			for(int i = 0; i < 50; i++)
+			{
+				String name = randomName(random);
+				if(!names.contains(name))
+				{
+					names.add(name);
+					builder.put(name);
+				}
+			}
+			SuggestionIndex index = builder.build();
+
+			for(int query = 0; query < 100; query++)
+			{
+				String name = randomName(random);
+				int maxDistance = random.nextInt(4);
+				assertEquals(name + " within " + maxDistance, bruteForce(names, name, maxDistance), index.suggest(name, maxDistance));
+			}
+		}
+	}
+
+	/**
+	 * @return The first added name at the smallest distance within the maximum distance, or null
+	 */
+	private static String bruteForce(List<String> names, String name, int maxDistance)
+	{
+		String best = null;
+		int bestDistance = maxDistance + 1;
+		for(String candidate : names)
+		{
+			int distance = levenshtein(name, candidate);
+			if(distance < bestDistance)
+			{
+				best = candidate;
+				bestDistance = distance;
+			}
+		}
+		return best;
+	}
+
+	private static int levenshtein(String a, String b)
+	{
+		int[][] d = new int[a.length() + 1][b.length() + 1];
+		for(int i = 0; i <= a.length(); i++) d[i][0] = i;
+		for(int j = 0; j <= b.length(); j++) d[0][j] = j;
+		for(int i = 1; i <= a.length(); i++)
+			for(int j = 1; j <= b.length(); j++)
+				d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1));
+		return d[a.length()][b.length()];
+	}
+
+	private static String randomName(Random random)
+	{
+		// A small alphabet gives many close names
+		char[] chars = new char[1 + random.nextInt(12)];
+		for(int i = 0; i < chars.length; i++)
+			chars[i] = (char) ('a' + random.nextInt(3));
+		return new String(chars);
+	}
+}